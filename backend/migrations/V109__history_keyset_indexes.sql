@@ -0,0 +1,13 @@
+BEGIN;
+
+-- Composite indexes for keyset pagination of self-service history (newest first, id as tie-breaker)
+CREATE INDEX IF NOT EXISTS idx_attendance_record_employee_date_id
+  ON attendance_record(employee_id, attendance_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_timesheet_header_employee_start_id
+  ON timesheet_header(employee_id, period_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_leave_request_employee_created_id
+  ON leave_request(employee_id, created_at DESC, id DESC);
+
+COMMIT;
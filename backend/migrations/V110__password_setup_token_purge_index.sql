@@ -0,0 +1,8 @@
+BEGIN;
+
+-- Lets the purge job find used tokens past their retention window without a table scan
+CREATE INDEX IF NOT EXISTS idx_password_setup_token_used_updated_at
+  ON password_setup_token(updated_at)
+  WHERE used = true;
+
+COMMIT;
@@ -0,0 +1,26 @@
+BEGIN;
+
+-- Announces leave balance changes so application caches can drop the affected entry.
+-- Payload is "employee_id:year"; NOTIFY is delivered on commit and de-duplicated per transaction.
+CREATE OR REPLACE FUNCTION notify_leave_balance_changed()
+RETURNS TRIGGER AS $$
+DECLARE
+    row_data leave_balance%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        row_data := OLD;
+    ELSE
+        row_data := NEW;
+    END IF;
+    PERFORM pg_notify('leave_balance_changed', row_data.employee_id::text || ':' || row_data.year::text);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS leave_balance_changed_notify ON leave_balance;
+
+CREATE TRIGGER leave_balance_changed_notify
+    AFTER INSERT OR UPDATE OR DELETE ON leave_balance
+    FOR EACH ROW EXECUTE FUNCTION notify_leave_balance_changed();
+
+COMMIT;
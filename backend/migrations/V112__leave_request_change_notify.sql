@@ -0,0 +1,28 @@
+BEGIN;
+
+-- Announces leave request changes so application-side overlap indexes can drop stale entries.
+-- Payload is "employee_id:primary_division_id" (division empty for company-scope employees).
+CREATE OR REPLACE FUNCTION notify_leave_request_changed()
+RETURNS TRIGGER AS $$
+DECLARE
+    changed_employee_id UUID;
+    division_id UUID;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_employee_id := OLD.employee_id;
+    ELSE
+        changed_employee_id := NEW.employee_id;
+    END IF;
+    SELECT primary_division_id INTO division_id FROM employee WHERE id = changed_employee_id;
+    PERFORM pg_notify('leave_request_changed', changed_employee_id::text || ':' || COALESCE(division_id::text, ''));
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS leave_request_changed_notify ON leave_request;
+
+CREATE TRIGGER leave_request_changed_notify
+    AFTER INSERT OR UPDATE OF status, start_date, end_date OR DELETE ON leave_request
+    FOR EACH ROW EXECUTE FUNCTION notify_leave_request_changed();
+
+COMMIT;
@@ -0,0 +1,80 @@
+BEGIN;
+
+-- One row per employee per month; bit (day - 1) of each mask is set when that day has the status.
+-- Month summaries become bit counts over a few integers instead of row aggregations.
+CREATE TABLE IF NOT EXISTS attendance_month_bitmap (
+  employee_id UUID NOT NULL REFERENCES employee(id),
+  year INT NOT NULL,
+  month INT NOT NULL CHECK (month BETWEEN 1 AND 12),
+  present_mask INT NOT NULL DEFAULT 0,
+  absent_mask INT NOT NULL DEFAULT 0,
+  half_day_mask INT NOT NULL DEFAULT 0,
+  leave_mask INT NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL,
+  PRIMARY KEY (employee_id, year, month)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_month_bitmap_year_month ON attendance_month_bitmap(year, month);
+
+-- Backfill from existing attendance
+INSERT INTO attendance_month_bitmap
+  (employee_id, year, month, present_mask, absent_mask, half_day_mask, leave_mask, updated_at)
+SELECT employee_id,
+       EXTRACT(YEAR FROM attendance_date)::INT,
+       EXTRACT(MONTH FROM attendance_date)::INT,
+       COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'PRESENT'), 0),
+       COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'ABSENT'), 0),
+       COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'HALF_DAY'), 0),
+       COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'LEAVE'), 0),
+       CURRENT_TIMESTAMP
+FROM attendance_record
+GROUP BY employee_id, EXTRACT(YEAR FROM attendance_date), EXTRACT(MONTH FROM attendance_date)
+ON CONFLICT (employee_id, year, month) DO NOTHING;
+
+-- Set one day to a status (NULL clears it) in a single upsert
+CREATE OR REPLACE FUNCTION apply_attendance_month_bitmap(p_employee_id UUID, p_date DATE, p_status TEXT)
+RETURNS VOID AS $$
+DECLARE
+    day_bit INT := 1 << (EXTRACT(DAY FROM p_date)::INT - 1);
+BEGIN
+    INSERT INTO attendance_month_bitmap AS b
+      (employee_id, year, month, present_mask, absent_mask, half_day_mask, leave_mask, updated_at)
+    VALUES (p_employee_id, EXTRACT(YEAR FROM p_date)::INT, EXTRACT(MONTH FROM p_date)::INT,
+            CASE WHEN p_status = 'PRESENT' THEN day_bit ELSE 0 END,
+            CASE WHEN p_status = 'ABSENT' THEN day_bit ELSE 0 END,
+            CASE WHEN p_status = 'HALF_DAY' THEN day_bit ELSE 0 END,
+            CASE WHEN p_status = 'LEAVE' THEN day_bit ELSE 0 END,
+            CURRENT_TIMESTAMP)
+    ON CONFLICT (employee_id, year, month) DO UPDATE SET
+        present_mask = (b.present_mask & ~day_bit) | EXCLUDED.present_mask,
+        absent_mask = (b.absent_mask & ~day_bit) | EXCLUDED.absent_mask,
+        half_day_mask = (b.half_day_mask & ~day_bit) | EXCLUDED.half_day_mask,
+        leave_mask = (b.leave_mask & ~day_bit) | EXCLUDED.leave_mask,
+        updated_at = CURRENT_TIMESTAMP;
+END;
+$$ language 'plpgsql';
+
+-- Keeps the bitmap in step with every writer (self check-in, HR overrides, bulk imports)
+-- and announces "employee_id:YYYY-MM" so application caches can drop the month
+CREATE OR REPLACE FUNCTION sync_attendance_month_bitmap()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_attendance_month_bitmap(OLD.employee_id, OLD.attendance_date, NULL);
+        PERFORM pg_notify('attendance_bitmap_changed', OLD.employee_id::text || ':' || to_char(OLD.attendance_date, 'YYYY-MM'));
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_attendance_month_bitmap(NEW.employee_id, NEW.attendance_date, NEW.status);
+        PERFORM pg_notify('attendance_bitmap_changed', NEW.employee_id::text || ':' || to_char(NEW.attendance_date, 'YYYY-MM'));
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS attendance_month_bitmap_sync ON attendance_record;
+
+CREATE TRIGGER attendance_month_bitmap_sync
+    AFTER INSERT OR UPDATE OF employee_id, attendance_date, status OR DELETE ON attendance_record
+    FOR EACH ROW EXECUTE FUNCTION sync_attendance_month_bitmap();
+
+COMMIT;
@@ -0,0 +1,29 @@
+BEGIN;
+
+-- Last run of each cluster-wide scheduled job (ClusterJobRunner)
+CREATE TABLE IF NOT EXISTS scheduled_job_run (
+  job_name VARCHAR(100) PRIMARY KEY,
+  last_owner VARCHAR(200) NOT NULL,
+  last_started_at TIMESTAMP NOT NULL,
+  last_finished_at TIMESTAMP,
+  last_duration_ms BIGINT,
+  last_status VARCHAR(20) NOT NULL CHECK (last_status IN ('RUNNING','SUCCEEDED','FAILED')),
+  last_error TEXT,
+  run_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Shard claims for split jobs: a shard of a run is processed by whichever node inserts its row first
+CREATE TABLE IF NOT EXISTS scheduled_job_shard (
+  job_name VARCHAR(100) NOT NULL,
+  run_key VARCHAR(50) NOT NULL,
+  shard INT NOT NULL,
+  owner VARCHAR(200) NOT NULL,
+  claimed_at TIMESTAMP NOT NULL,
+  finished_at TIMESTAMP,
+  status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING','SUCCEEDED','FAILED')),
+  PRIMARY KEY (job_name, run_key, shard)
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_job_shard_claimed_at ON scheduled_job_shard(claimed_at);
+
+COMMIT;
@@ -0,0 +1,31 @@
+BEGIN;
+
+-- Pushes leave request and timesheet status transitions to the employee's live event stream.
+-- Payload is JSON: {"type": "leave"|"timesheet", "id", "employeeId", "status"}.
+CREATE OR REPLACE FUNCTION notify_employee_status_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.status IS DISTINCT FROM OLD.status THEN
+        PERFORM pg_notify('employee_status_changed', json_build_object(
+            'type', TG_ARGV[0],
+            'id', NEW.id,
+            'employeeId', NEW.employee_id,
+            'status', NEW.status)::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS leave_request_status_notify ON leave_request;
+
+CREATE TRIGGER leave_request_status_notify
+    AFTER UPDATE OF status ON leave_request
+    FOR EACH ROW EXECUTE FUNCTION notify_employee_status_changed('leave');
+
+DROP TRIGGER IF EXISTS timesheet_header_status_notify ON timesheet_header;
+
+CREATE TRIGGER timesheet_header_status_notify
+    AFTER UPDATE OF status ON timesheet_header
+    FOR EACH ROW EXECUTE FUNCTION notify_employee_status_changed('timesheet');
+
+COMMIT;
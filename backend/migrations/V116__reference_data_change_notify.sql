@@ -0,0 +1,28 @@
+BEGIN;
+
+-- Reference data (roles, leave types, divisions) is cached whole by each node.
+-- Any change, from any service, announces the table so nodes reload their snapshot.
+CREATE OR REPLACE FUNCTION notify_reference_data_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('reference_data_changed', TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS role_reference_data_notify ON role;
+CREATE TRIGGER role_reference_data_notify
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON role
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_reference_data_changed();
+
+DROP TRIGGER IF EXISTS leave_type_reference_data_notify ON leave_type;
+CREATE TRIGGER leave_type_reference_data_notify
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON leave_type
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_reference_data_changed();
+
+DROP TRIGGER IF EXISTS division_reference_data_notify ON division;
+CREATE TRIGGER division_reference_data_notify
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON division
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_reference_data_changed();
+
+COMMIT;
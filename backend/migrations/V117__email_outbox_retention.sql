@@ -0,0 +1,8 @@
+BEGIN;
+
+-- Retention purge of delivered and dead-lettered outbox rows (PasswordSetupTokenPurger)
+CREATE INDEX IF NOT EXISTS idx_email_outbox_finished
+  ON email_outbox(updated_at)
+  WHERE status IN ('SENT','DEAD');
+
+COMMIT;
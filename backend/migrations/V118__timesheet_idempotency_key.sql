@@ -0,0 +1,20 @@
+BEGIN;
+
+-- Idempotency keys of batch timesheet submissions. The key row is written in the same
+-- transaction as the timesheet, so a retry on any node replays the original outcome.
+CREATE TABLE IF NOT EXISTS timesheet_idempotency_key (
+  employee_id UUID NOT NULL REFERENCES employee(id),
+  idempotency_key VARCHAR(100) NOT NULL,
+  week_start DATE NOT NULL,
+  timesheet_id UUID REFERENCES timesheet_header(id) ON DELETE CASCADE,
+  total_hours NUMERIC(6,2),
+  created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+  CONSTRAINT ux_timesheet_idempotency_key UNIQUE (employee_id, idempotency_key)
+);
+
+-- Retention purge walks keys oldest first
+CREATE INDEX IF NOT EXISTS idx_timesheet_idempotency_key_created_at
+  ON timesheet_idempotency_key(created_at);
+
+COMMIT;
@@ -0,0 +1,13 @@
+BEGIN;
+
+-- Allow half-day attendance, tracked by attendance_month_bitmap.half_day_mask (V113)
+ALTER TABLE attendance_record 
+DROP CONSTRAINT IF EXISTS attendance_record_status_check;
+
+ALTER TABLE attendance_record 
+ADD CONSTRAINT attendance_record_status_check 
+CHECK (status IN ('PRESENT','ABSENT','LEAVE','HALF_DAY'));
+
+COMMENT ON COLUMN attendance_record.status IS 'Attendance status: PRESENT, ABSENT, LEAVE, HALF_DAY';
+
+COMMIT;
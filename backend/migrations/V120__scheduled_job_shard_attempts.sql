@@ -0,0 +1,7 @@
+BEGIN;
+
+-- Failed shards are claimed again until attempts reaches jobs.shard-max-attempts (ClusterJobRunner)
+ALTER TABLE scheduled_job_shard
+  ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 1;
+
+COMMIT;
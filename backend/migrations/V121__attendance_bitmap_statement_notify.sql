@@ -0,0 +1,57 @@
+BEGIN;
+
+-- The row trigger keeps maintaining attendance_month_bitmap but no longer notifies: NOTIFY takes
+-- the global notification queue lock at commit, which serialised every check-in during the spike.
+-- Self check-in patches the cache of the node that served it; other nodes converge within the TTL.
+CREATE OR REPLACE FUNCTION sync_attendance_month_bitmap()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_attendance_month_bitmap(OLD.employee_id, OLD.attendance_date, NULL);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_attendance_month_bitmap(NEW.employee_id, NEW.attendance_date, NEW.status);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Corrections and deletions announce each touched month once per statement, payload "YYYY-MM"
+CREATE OR REPLACE FUNCTION notify_attendance_bitmap_months()
+RETURNS TRIGGER AS $$
+DECLARE
+    changed_month TEXT;
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        FOR changed_month IN
+            SELECT to_char(attendance_date, 'YYYY-MM') FROM old_rows
+            UNION
+            SELECT to_char(attendance_date, 'YYYY-MM') FROM new_rows
+        LOOP
+            PERFORM pg_notify('attendance_bitmap_changed', changed_month);
+        END LOOP;
+    ELSE
+        FOR changed_month IN SELECT DISTINCT to_char(attendance_date, 'YYYY-MM') FROM old_rows LOOP
+            PERFORM pg_notify('attendance_bitmap_changed', changed_month);
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Transition tables allow a single event per trigger
+DROP TRIGGER IF EXISTS attendance_month_bitmap_notify_update ON attendance_record;
+
+CREATE TRIGGER attendance_month_bitmap_notify_update
+    AFTER UPDATE ON attendance_record
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_attendance_bitmap_months();
+
+DROP TRIGGER IF EXISTS attendance_month_bitmap_notify_delete ON attendance_record;
+
+CREATE TRIGGER attendance_month_bitmap_notify_delete
+    AFTER DELETE ON attendance_record
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_attendance_bitmap_months();
+
+COMMIT;
@@ -0,0 +1,7 @@
+BEGIN;
+
+-- Sharded runs are recorded once, by the first node to see all shards settled (ClusterJobRunner)
+ALTER TABLE scheduled_job_run
+  ADD COLUMN IF NOT EXISTS last_run_key VARCHAR(50);
+
+COMMIT;
@@ -0,0 +1,48 @@
+BEGIN;
+
+-- Announces users whose cached bearer tokens must be re-verified (VerifiedTokenCache) on every node:
+-- password, activation or role changes, role grants, and logout. Payload is the user id, the token's "sub".
+CREATE OR REPLACE FUNCTION notify_token_subject_revoked()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_TABLE_NAME = 'user' THEN
+        PERFORM pg_notify('token_subject_revoked', COALESCE(NEW.id, OLD.id)::text);
+    ELSIF TG_TABLE_NAME = 'user_role' THEN
+        PERFORM pg_notify('token_subject_revoked', COALESCE(NEW.user_id, OLD.user_id)::text);
+    ELSIF OLD.revoked_at IS NULL AND NEW.revoked_at IS NOT NULL AND NEW.replaced_by_token_id IS NULL THEN
+        -- A revoked refresh token that was not rotated is a logout
+        PERFORM pg_notify('token_subject_revoked', NEW.subject_id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- JPA saves write every column, so compare values rather than rely on UPDATE OF
+DROP TRIGGER IF EXISTS user_token_revocation_notify ON "user";
+
+CREATE TRIGGER user_token_revocation_notify
+    AFTER UPDATE ON "user"
+    FOR EACH ROW
+    WHEN ((OLD.password, OLD.active, OLD.role, OLD.employee_id)
+          IS DISTINCT FROM (NEW.password, NEW.active, NEW.role, NEW.employee_id))
+    EXECUTE FUNCTION notify_token_subject_revoked();
+
+DROP TRIGGER IF EXISTS user_token_revocation_notify_delete ON "user";
+
+CREATE TRIGGER user_token_revocation_notify_delete
+    AFTER DELETE ON "user"
+    FOR EACH ROW EXECUTE FUNCTION notify_token_subject_revoked();
+
+DROP TRIGGER IF EXISTS user_role_token_revocation_notify ON user_role;
+
+CREATE TRIGGER user_role_token_revocation_notify
+    AFTER INSERT OR UPDATE OR DELETE ON user_role
+    FOR EACH ROW EXECUTE FUNCTION notify_token_subject_revoked();
+
+DROP TRIGGER IF EXISTS auth_refresh_token_logout_notify ON auth_refresh_token;
+
+CREATE TRIGGER auth_refresh_token_logout_notify
+    AFTER UPDATE OF revoked_at ON auth_refresh_token
+    FOR EACH ROW EXECUTE FUNCTION notify_token_subject_revoked();
+
+COMMIT;
@@ -0,0 +1,42 @@
+BEGIN;
+
+-- Per-employee change counter for polled history reads (ConditionalGet): the ETag probe is a
+-- primary-key lookup instead of an aggregate over the employee's whole history, and any write
+-- bumps it whatever it does to updated_at.
+CREATE TABLE IF NOT EXISTS employee_history_version (
+  employee_id UUID NOT NULL,
+  resource VARCHAR(30) NOT NULL,
+  version BIGINT NOT NULL,
+  PRIMARY KEY (employee_id, resource)
+);
+
+CREATE OR REPLACE FUNCTION bump_employee_history_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO employee_history_version AS v (employee_id, resource, version)
+        VALUES (OLD.employee_id, TG_ARGV[0], 1)
+        ON CONFLICT (employee_id, resource) DO UPDATE SET version = v.version + 1;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.employee_id IS DISTINCT FROM OLD.employee_id) THEN
+        INSERT INTO employee_history_version AS v (employee_id, resource, version)
+        VALUES (NEW.employee_id, TG_ARGV[0], 1)
+        ON CONFLICT (employee_id, resource) DO UPDATE SET version = v.version + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS attendance_record_history_version ON attendance_record;
+
+CREATE TRIGGER attendance_record_history_version
+    AFTER INSERT OR UPDATE OR DELETE ON attendance_record
+    FOR EACH ROW EXECUTE FUNCTION bump_employee_history_version('attendance');
+
+DROP TRIGGER IF EXISTS timesheet_header_history_version ON timesheet_header;
+
+CREATE TRIGGER timesheet_header_history_version
+    AFTER INSERT OR UPDATE OR DELETE ON timesheet_header
+    FOR EACH ROW EXECUTE FUNCTION bump_employee_history_version('timesheet');
+
+COMMIT;
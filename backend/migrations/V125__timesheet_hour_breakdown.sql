@@ -0,0 +1,8 @@
+BEGIN;
+
+-- Day and project totals computed at submit time (TimesheetTotals), so reports need not re-sum entries.
+-- daily_hours is a 7-element array starting at the week start; project_hours maps project id to hours.
+ALTER TABLE timesheet_header ADD COLUMN IF NOT EXISTS daily_hours JSONB;
+ALTER TABLE timesheet_header ADD COLUMN IF NOT EXISTS project_hours JSONB;
+
+COMMIT;
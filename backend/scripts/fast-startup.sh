@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Fast-startup packaging for the backend: Spring AOT + application CDS archive + lazy init.
+#
+# The jar must be built with Spring AOT processing (process-aot / processAot) using the same
+# profiles and conditional properties as production (fast-startup, pg.notify.enabled,
+# replica.enabled): AOT fixes @Profile and @Conditional outcomes at build time.
+#
+#   fast-startup.sh train <app.jar> [dir]   extract the jar and record a CDS archive from a
+#                                           training start that exits once the context is refreshed
+#   fast-startup.sh run   <app.jar> [dir]   start from the extracted layout with the archive
+#
+# Training needs the same database connection settings as a normal start.
+set -euo pipefail
+
+MODE=${1:?usage: fast-startup.sh train|run <app.jar> [dir]}
+JAR=${2:?usage: fast-startup.sh train|run <app.jar> [dir]}
+DIR=${3:-build/fast-startup}
+APP_JAR="$DIR/$(basename "$JAR")"
+ARCHIVE="$DIR/app.jsa"
+
+COMMON_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active="${SPRING_PROFILES_ACTIVE:-fast-startup}")
+
+case "$MODE" in
+  train)
+    rm -rf "$DIR"
+    # CDS only maps classes from plain jar files on the class path, not nested boot jars
+    java -Djarmode=tools -jar "$JAR" extract --destination "$DIR"
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.context.exit=onRefresh "${COMMON_OPTS[@]}" -jar "$APP_JAR"
+    echo "CDS archive written to $ARCHIVE"
+    ;;
+  run)
+    if [[ ! -f "$ARCHIVE" ]]; then
+      echo "No CDS archive at $ARCHIVE; run '$0 train $JAR $DIR' first" >&2
+      exit 1
+    fi
+    shift 3 || shift $#
+    exec java -XX:SharedArchiveFile="$ARCHIVE" "${COMMON_OPTS[@]}" ${JAVA_OPTS:-} -jar "$APP_JAR" "$@"
+    ;;
+  *)
+    echo "Unknown mode: $MODE" >&2
+    exit 1
+    ;;
+esac
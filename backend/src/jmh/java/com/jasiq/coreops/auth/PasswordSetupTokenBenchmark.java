@@ -0,0 +1,17 @@
+package com.jasiq.coreops.auth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Setup token generation; sits in the auth package to reach the package-private generator
+ */
+@State(Scope.Benchmark)
+public class PasswordSetupTokenBenchmark {
+    
+    @Benchmark
+    public String generateSecureToken() {
+        return PasswordSetupService.generateSecureToken();
+    }
+}
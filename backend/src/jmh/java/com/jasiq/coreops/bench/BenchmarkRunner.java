@@ -0,0 +1,97 @@
+package com.jasiq.coreops.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks and writes JMH JSON results.
+ *
+ * Usage: BenchmarkRunner [--include regex] [--out results.json] [--baseline previous.json] [--threshold percent]
+ *
+ * With --baseline, scores are compared per benchmark and parameter set; the process exits
+ * with status 2 when any benchmark got slower than the threshold (default 10%).
+ */
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = "com\\.jasiq\\.coreops\\..*Benchmark.*";
+        String out = "target/jmh-results.json";
+        String baseline = null;
+        double threshold = 10.0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--include" -> include = args[i + 1];
+                case "--out" -> out = args[i + 1];
+                case "--baseline" -> baseline = args[i + 1];
+                case "--threshold" -> threshold = Double.parseDouble(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        
+        File outFile = new File(out);
+        if (outFile.getParentFile() != null) {
+            outFile.getParentFile().mkdirs();
+        }
+        
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(outFile.getPath());
+        new Runner(options.build()).run();
+        System.out.println("Benchmark results written to " + outFile.getPath());
+        
+        if (baseline != null && compare(new File(baseline), outFile, threshold) > 0) {
+            System.exit(2);
+        }
+    }
+    
+    /**
+     * Print the change per benchmark and return how many regressed beyond the threshold
+     */
+    static int compare(File baselineFile, File currentFile, double thresholdPercent) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselineFile));
+        int regressions = 0;
+        
+        for (Map.Entry<String, JsonNode> current : index(objectMapper.readTree(currentFile)).entrySet()) {
+            JsonNode previous = baseline.get(current.getKey());
+            if (previous == null) {
+                System.out.println("NEW        " + current.getKey());
+                continue;
+            }
+            
+            double before = previous.path("primaryMetric").path("score").asDouble();
+            double after = current.getValue().path("primaryMetric").path("score").asDouble();
+            // Throughput: higher is better; time modes: lower is better
+            boolean higherIsBetter = "thrpt".equals(current.getValue().path("mode").asText());
+            double change = before == 0 ? 0 : (after - before) / before * 100;
+            double slowdown = higherIsBetter ? -change : change;
+            
+            boolean regressed = slowdown > thresholdPercent;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s %+.1f%%%n", regressed ? "REGRESSED" : "ok", current.getKey(), change);
+        }
+        return regressions;
+    }
+    
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new HashMap<>();
+        for (JsonNode result : results) {
+            String key = result.path("benchmark").asText() + " " + result.path("mode").asText() + " " + result.path("params");
+            byKey.put(key, result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jasiq.coreops.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Wiring helpers: benchmarks build components by hand instead of starting a Spring context
+ */
+final class BenchmarkSupport {
+    
+    private BenchmarkSupport() {
+    }
+    
+    /**
+     * Same modules and defaults as the ObjectMapper Spring Boot configures
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+    
+    /**
+     * Set a field-injected dependency or @Value property
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+    
+    /**
+     * Token shaped like the ones the auth service issues; the signature is a placeholder
+     */
+    static String sampleToken(ObjectMapper objectMapper, UUID userId, UUID employeeId, UUID divisionId) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", userId.toString());
+        claims.put("employeeId", employeeId.toString());
+        claims.put("role", "EMPLOYEE");
+        claims.put("scope", "DIVISION");
+        claims.put("primaryDivisionId", divisionId.toString());
+        claims.put("iat", Instant.now().getEpochSecond());
+        claims.put("exp", Instant.now().plusSeconds(3600).getEpochSecond());
+        
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        try {
+            String header = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+            String payload = encoder.encodeToString(objectMapper.writeValueAsBytes(claims));
+            String signature = encoder.encodeToString(new byte[32]);
+            return header + "." + payload + "." + signature;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
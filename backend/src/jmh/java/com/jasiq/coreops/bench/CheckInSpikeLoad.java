@@ -0,0 +1,122 @@
+package com.jasiq.coreops.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays the 9 AM check-in spike against a running backend: every employee token fires
+ * POST /api/v1/attendance/me at once. Run it against the default profile and against
+ * "virtual-threads" with the same data and compare the JSON summaries.
+ *
+ * Usage: CheckInSpikeLoad --base-url http://host:8080 --tokens tokens.txt [--label name] [--out file.json]
+ */
+public class CheckInSpikeLoad {
+    
+    public static void main(String[] args) throws Exception {
+        String baseUrl = null;
+        String tokensFile = null;
+        String label = "run";
+        String out = "target/checkin-spike.json";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--base-url" -> baseUrl = args[i + 1];
+                case "--tokens" -> tokensFile = args[i + 1];
+                case "--label" -> label = args[i + 1];
+                case "--out" -> out = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (baseUrl == null || tokensFile == null) {
+            throw new IllegalArgumentException("--base-url and --tokens are required");
+        }
+        
+        List<String> tokens = Files.readAllLines(Path.of(tokensFile)).stream().filter(line -> !line.isBlank()).toList();
+        URI uri = URI.create(baseUrl + "/api/v1/attendance/me");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        
+        long[] latencies = new long[tokens.size()];
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tokens.size());
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tokens.size(); i++) {
+                int index = i;
+                executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                        .timeout(Duration.ofSeconds(60))
+                        .header("Authorization", "Bearer " + tokens.get(index))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"status\":\"PRESENT\"}"))
+                        .build();
+                    try {
+                        startGate.await();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = System.nanoTime() - start;
+                        statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    } catch (Exception e) {
+                        latencies[index] = -1;
+                        errors.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            
+            long wallStart = System.nanoTime();
+            startGate.countDown();
+            done.await();
+            long wallNanos = System.nanoTime() - wallStart;
+            
+            long[] completed = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("label", label);
+            summary.put("requests", tokens.size());
+            summary.put("errors", errors.get());
+            summary.put("wallMillis", wallNanos / 1_000_000);
+            summary.put("throughputPerSecond", completed.length / (wallNanos / 1e9));
+            summary.put("p50Millis", percentileMillis(completed, 0.50));
+            summary.put("p95Millis", percentileMillis(completed, 0.95));
+            summary.put("p99Millis", percentileMillis(completed, 0.99));
+            summary.put("maxMillis", percentileMillis(completed, 1.0));
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+            summary.put("statusCounts", statusCounts);
+            
+            File outFile = new File(out);
+            if (outFile.getParentFile() != null) {
+                outFile.getParentFile().mkdirs();
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(outFile, summary);
+            System.out.println(new ObjectMapper().writeValueAsString(summary));
+        }
+    }
+    
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,126 @@
+package com.jasiq.coreops.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.jasiq.coreops.attendance.Attendance;
+import com.jasiq.coreops.attendance.AttendanceControllerExtension.MarkAttendanceRequest;
+import com.jasiq.coreops.attendance.AttendanceView;
+import com.jasiq.coreops.timesheet.TimesheetControllerExtension.TimesheetRequest;
+import com.jasiq.coreops.timesheet.TimesheetEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request and response (de)serialization for the self-service endpoints,
+ * using the same ObjectMapper configuration as the application
+ */
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+    
+    private static final int PAGE_SIZE = 20;
+    
+    private ObjectReader markAttendanceReader;
+    private ObjectReader timesheetReader;
+    private ObjectWriter writer;
+    private ObjectWriter blackbirdWriter;
+    
+    private byte[] markAttendanceJson;
+    private byte[] timesheetJson;
+    private TimesheetRequest timesheetRequest;
+    private Page<Attendance> attendancePage;
+    private Page<AttendanceView> attendanceViewPage;
+    
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+        markAttendanceReader = objectMapper.readerFor(MarkAttendanceRequest.class);
+        timesheetReader = objectMapper.readerFor(TimesheetRequest.class);
+        writer = objectMapper.writer();
+        blackbirdWriter = BenchmarkSupport.objectMapper().registerModule(new BlackbirdModule()).writer();
+        
+        MarkAttendanceRequest markAttendance = new MarkAttendanceRequest();
+        markAttendance.setStatus("PRESENT");
+        markAttendance.setCheckIn("09:02");
+        markAttendance.setCheckOut("17:45");
+        markAttendanceJson = objectMapper.writeValueAsBytes(markAttendance);
+        
+        // A full week: five days, two projects a day
+        LocalDate weekStart = LocalDate.of(2026, 3, 2);
+        UUID[] projects = { UUID.randomUUID(), UUID.randomUUID() };
+        List<TimesheetEntry> entries = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            for (UUID project : projects) {
+                TimesheetEntry entry = new TimesheetEntry();
+                entry.setDay(weekStart.plusDays(day));
+                entry.setProjectId(project);
+                entry.setTask("Development");
+                entry.setHours(4);
+                entries.add(entry);
+            }
+        }
+        timesheetRequest = new TimesheetRequest();
+        timesheetRequest.setWeekStart(weekStart.toString());
+        timesheetRequest.setEntries(entries);
+        timesheetJson = objectMapper.writeValueAsBytes(timesheetRequest);
+        
+        UUID employeeId = UUID.randomUUID();
+        List<Attendance> rows = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Attendance attendance = new Attendance();
+            attendance.setId(UUID.randomUUID());
+            attendance.setEmployeeId(employeeId);
+            attendance.setDate(weekStart.minusDays(i));
+            attendance.setStatus("PRESENT");
+            attendance.setCheckIn("09:00");
+            attendance.setCheckOut("17:30");
+            rows.add(attendance);
+        }
+        attendancePage = new PageImpl<>(rows, PageRequest.of(0, PAGE_SIZE), 240);
+        attendanceViewPage = attendancePage.map(AttendanceView::from);
+    }
+    
+    @Benchmark
+    public MarkAttendanceRequest readMarkAttendanceRequest() throws Exception {
+        return markAttendanceReader.readValue(markAttendanceJson);
+    }
+    
+    @Benchmark
+    public TimesheetRequest readTimesheetRequest() throws Exception {
+        return timesheetReader.readValue(timesheetJson);
+    }
+    
+    @Benchmark
+    public byte[] writeTimesheetRequest() throws Exception {
+        return writer.writeValueAsBytes(timesheetRequest);
+    }
+    
+    @Benchmark
+    public byte[] writeAttendancePage() throws Exception {
+        return writer.writeValueAsBytes(attendancePage);
+    }
+    
+    /**
+     * Same page as the /attendance/me read model; compare with writeAttendancePage (run with -prof gc for allocations)
+     */
+    @Benchmark
+    public byte[] writeAttendanceViewPage() throws Exception {
+        return writer.writeValueAsBytes(attendanceViewPage);
+    }
+    
+    @Benchmark
+    public byte[] writeAttendanceViewPageBlackbird() throws Exception {
+        return blackbirdWriter.writeValueAsBytes(attendanceViewPage);
+    }
+}
@@ -0,0 +1,124 @@
+package com.jasiq.coreops.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jasiq.coreops.auth.CurrentEmployee;
+import com.jasiq.coreops.auth.CurrentEmployeeArgumentResolver;
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.auth.JwtPayloadDecoder;
+import com.jasiq.coreops.config.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-request auth work on the /me endpoints: the verified-token cache lookup done by
+ * CachingJwtTokenFilter, payload decoding, and @CurrentEmployee resolution.
+ * Signature verification itself lives in JwtTokenProvider and is measured only through
+ * the cache-miss path in production metrics (jwt.cache.requests{result=miss}).
+ */
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+    
+    private JwtPayloadDecoder decoder;
+    private VerifiedTokenCache tokenCache;
+    private CurrentEmployeeArgumentResolver resolver;
+    private MethodParameter employeeParameter;
+    
+    private String token;
+    private String unknownToken;
+    private Map<String, Object> claims;
+    private Authentication authentication;
+    
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+        decoder = new JwtPayloadDecoder();
+        BenchmarkSupport.inject(decoder, "objectMapper", objectMapper);
+        
+        tokenCache = new VerifiedTokenCache();
+        BenchmarkSupport.inject(tokenCache, "meterRegistry", new SimpleMeterRegistry());
+        BenchmarkSupport.inject(tokenCache, "maxEntries", 10_000);
+        BenchmarkSupport.inject(tokenCache, "maxAgeSeconds", 300L);
+        
+        resolver = new CurrentEmployeeArgumentResolver();
+        BenchmarkSupport.inject(resolver, "jwtPayloadDecoder", decoder);
+        Method handler = JwtAuthBenchmark.class.getDeclaredMethod("handler", EmployeeContext.class);
+        employeeParameter = new MethodParameter(handler, 0);
+        
+        token = BenchmarkSupport.sampleToken(objectMapper, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        unknownToken = BenchmarkSupport.sampleToken(objectMapper, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        claims = decoder.decode(token);
+        authentication = new UsernamePasswordAuthenticationToken("bench@jasiq.test", null,
+            AuthorityUtils.createAuthorityList("EMPLOYEE"));
+        tokenCache.put(token, authentication, EmployeeContext.fromClaims(claims), JwtPayloadDecoder.expiresAt(claims));
+        
+        // Global so every JMH worker thread sees the authenticated request
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Benchmark
+    public VerifiedTokenCache.Entry tokenCacheHit() {
+        return tokenCache.get(token);
+    }
+    
+    @Benchmark
+    public VerifiedTokenCache.Entry tokenCacheMiss() {
+        return tokenCache.get(unknownToken);
+    }
+    
+    @Benchmark
+    public Map<String, Object> decodePayload() {
+        return decoder.decode(token);
+    }
+    
+    @Benchmark
+    public EmployeeContext contextFromClaims() {
+        return EmployeeContext.fromClaims(claims);
+    }
+    
+    /**
+     * Resolver fast path: the filter already stored the context on the request
+     */
+    @Benchmark
+    public Object resolveFromRequestAttribute() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(EmployeeContext.REQUEST_ATTRIBUTE, tokenCache.get(token).getEmployeeContext());
+        return resolver.resolveArgument(employeeParameter, null, new ServletWebRequest(request), null);
+    }
+    
+    /**
+     * Resolver fallback: decode the bearer payload
+     */
+    @Benchmark
+    public Object resolveFromBearerToken() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return resolver.resolveArgument(employeeParameter, null, new ServletWebRequest(request), null);
+    }
+    
+    @SuppressWarnings("unused")
+    private void handler(@CurrentEmployee EmployeeContext employee) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.jasiq.coreops.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the backend jar several times and reports time-to-first-request and resident memory.
+ * "First request" is the first HTTP response from --url, by default an authenticated self-service
+ * route, so lazily initialised controllers are included in the time. The route needs a bearer token
+ * (--token, or the STARTUP_PROBE_TOKEN environment variable) for an EMPLOYEE user; a 401 or 403 means
+ * security answered before any controller was built, so it aborts the run instead of being timed.
+ * RSS is read from /proc once that response arrives (Linux only, -1 elsewhere).
+ *
+ * Usage: StartupMeasurement --jar app.jar [--jvm-args "..."] [--app-args "..."] [--url http://localhost:8080/...]
+ *                           [--token jwt] [--runs 5] [--label name] [--out file.json] [--baseline previous.json]
+ *                           [--threshold percent]
+ *
+ * Compare a plain start with the fast-startup mode (scripts/fast-startup.sh) by running both with
+ * different --jvm-args and labels. With --baseline the process exits with status 2 when the median
+ * time-to-first-request got slower than the threshold (default 10%).
+ */
+public class StartupMeasurement {
+    
+    public static void main(String[] args) throws Exception {
+        String jar = null;
+        String jvmArgs = "";
+        String appArgs = "";
+        String url = "http://localhost:8080/api/v1/employees/me";
+        String token = System.getenv("STARTUP_PROBE_TOKEN");
+        int runs = 5;
+        String label = "run";
+        String out = "target/startup.json";
+        String baseline = null;
+        double threshold = 10.0;
+        long timeoutSeconds = 180;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--jar" -> jar = args[i + 1];
+                case "--jvm-args" -> jvmArgs = args[i + 1];
+                case "--app-args" -> appArgs = args[i + 1];
+                case "--url" -> url = args[i + 1];
+                case "--token" -> token = args[i + 1];
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--label" -> label = args[i + 1];
+                case "--out" -> out = args[i + 1];
+                case "--baseline" -> baseline = args[i + 1];
+                case "--threshold" -> threshold = Double.parseDouble(args[i + 1]);
+                case "--timeout-seconds" -> timeoutSeconds = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (jar == null) {
+            throw new IllegalArgumentException("--jar is required");
+        }
+        
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(jvmArgs));
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(split(appArgs));
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest.Builder probeBuilder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null && !token.isBlank()) {
+            probeBuilder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest probe = probeBuilder.build();
+        
+        long[] firstRequestMillis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            try {
+                firstRequestMillis[run] = awaitFirstResponse(client, probe, process, start, timeoutSeconds);
+                rssKb[run] = residentKb(process.pid());
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+            System.out.printf("run %d: first request %d ms, rss %d KiB%n", run + 1, firstRequestMillis[run], rssKb[run]);
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", label);
+        summary.put("runs", runs);
+        summary.put("jvmArgs", jvmArgs);
+        summary.put("firstRequestMillisMedian", median(firstRequestMillis));
+        summary.put("firstRequestMillisMin", Arrays.stream(firstRequestMillis).min().orElse(0));
+        summary.put("firstRequestMillisMax", Arrays.stream(firstRequestMillis).max().orElse(0));
+        summary.put("rssKbMedian", median(rssKb));
+        summary.put("firstRequestMillis", firstRequestMillis);
+        summary.put("rssKb", rssKb);
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        File outFile = new File(out);
+        if (outFile.getParentFile() != null) {
+            outFile.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(outFile, summary);
+        System.out.println(objectMapper.writeValueAsString(summary));
+        
+        if (baseline != null && regressed(objectMapper.readTree(new File(baseline)), median(firstRequestMillis), threshold)) {
+            System.exit(2);
+        }
+    }
+    
+    private static long awaitFirstResponse(HttpClient client, HttpRequest probe, Process process, long start,
+                                           long timeoutSeconds) throws InterruptedException {
+        long deadline = start + Duration.ofSeconds(timeoutSeconds).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with status " + process.exitValue() + " before serving a request");
+            }
+            try {
+                HttpResponse<Void> response = client.send(probe, HttpResponse.BodyHandlers.discarding());
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                if (response.statusCode() == 401 || response.statusCode() == 403) {
+                    throw new IllegalStateException(probe.uri() + " answered " + response.statusCode()
+                        + " without reaching a controller; pass --token for an EMPLOYEE user or a public --url");
+                }
+                return elapsedMillis;
+            } catch (IOException e) {
+                // Not listening yet
+                Thread.sleep(20);
+            }
+        }
+        throw new IllegalStateException("No response from " + probe.uri() + " within " + timeoutSeconds + "s");
+    }
+    
+    private static long residentKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process is already gone
+        }
+        return -1;
+    }
+    
+    private static boolean regressed(JsonNode baseline, long currentMedian, double thresholdPercent) {
+        long previous = baseline.path("firstRequestMillisMedian").asLong(0);
+        if (previous <= 0) {
+            return false;
+        }
+        double change = (currentMedian - previous) * 100.0 / previous;
+        boolean regressed = change > thresholdPercent;
+        System.out.printf("%-10s time-to-first-request %d ms -> %d ms %+.1f%%%n",
+            regressed ? "REGRESSED" : "ok", previous, currentMedian, change);
+        return regressed;
+    }
+    
+    private static long median(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+    
+    private static List<String> split(String args) {
+        return args.isBlank() ? List.of() : Arrays.asList(args.trim().split("\\s+"));
+    }
+}
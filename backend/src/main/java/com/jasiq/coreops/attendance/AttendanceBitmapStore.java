@@ -0,0 +1,168 @@
+package com.jasiq.coreops.attendance;
+
+import com.jasiq.coreops.common.BoundedCache;
+import com.jasiq.coreops.common.PgNotificationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monthly attendance bitmaps from attendance_month_bitmap (V113), which a trigger on
+ * attendance_record keeps current for every writer. Single months are cached and patched
+ * in place on self check-in. Updates and deletes announce the month once per statement
+ * (V121); inserts made on other nodes reach the cache through the TTL.
+ */
+@Component
+public class AttendanceBitmapStore {
+    
+    static final String NOTIFY_CHANNEL = "attendance_bitmap_changed";
+    
+    private static final String MONTH_SQL =
+        "SELECT employee_id, present_mask, absent_mask, half_day_mask, leave_mask FROM attendance_month_bitmap " +
+        "WHERE employee_id = ? AND year = ? AND month = ?";
+    
+    // Active employees without a row still appear, with empty masks
+    private static final String DIVISION_MONTH_SQL =
+        "SELECT e.id AS employee_id, b.present_mask, b.absent_mask, b.half_day_mask, b.leave_mask FROM employee e " +
+        "LEFT JOIN attendance_month_bitmap b ON b.employee_id = e.id AND b.year = ? AND b.month = ? " +
+        "WHERE e.primary_division_id = ? AND e.status = 'ACTIVE' ORDER BY e.id";
+    
+    private static final String COMPANY_MONTH_SQL =
+        "SELECT e.id AS employee_id, b.present_mask, b.absent_mask, b.half_day_mask, b.leave_mask FROM employee e " +
+        "LEFT JOIN attendance_month_bitmap b ON b.employee_id = e.id AND b.year = ? AND b.month = ? " +
+        "WHERE e.status = 'ACTIVE' ORDER BY e.id";
+    
+    // Recomputes one shard of employees' month from attendance_record; only drifted rows are written
+    private static final String RECONCILE_SHARD_SQL =
+        "INSERT INTO attendance_month_bitmap AS b " +
+        "(employee_id, year, month, present_mask, absent_mask, half_day_mask, leave_mask, updated_at) " +
+        "SELECT employee_id, ?, ?, " +
+        "COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'PRESENT'), 0), " +
+        "COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'ABSENT'), 0), " +
+        "COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'HALF_DAY'), 0), " +
+        "COALESCE(bit_or(1 << (EXTRACT(DAY FROM attendance_date)::INT - 1)) FILTER (WHERE status = 'LEAVE'), 0), " +
+        "CURRENT_TIMESTAMP " +
+        "FROM attendance_record WHERE attendance_date BETWEEN ? AND ? " +
+        "AND (hashtext(employee_id::text) & 2147483647) % ? = ? " +
+        "GROUP BY employee_id " +
+        "ON CONFLICT (employee_id, year, month) DO UPDATE SET present_mask = EXCLUDED.present_mask, " +
+        "absent_mask = EXCLUDED.absent_mask, half_day_mask = EXCLUDED.half_day_mask, " +
+        "leave_mask = EXCLUDED.leave_mask, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE (b.present_mask, b.absent_mask, b.half_day_mask, b.leave_mask) IS DISTINCT FROM " +
+        "(EXCLUDED.present_mask, EXCLUDED.absent_mask, EXCLUDED.half_day_mask, EXCLUDED.leave_mask)";
+    
+    // Rows for employees whose records in the month were all deleted; the upsert above never sees them
+    private static final String RECONCILE_ORPHANS_SQL =
+        "DELETE FROM attendance_month_bitmap b WHERE b.year = ? AND b.month = ? " +
+        "AND (hashtext(b.employee_id::text) & 2147483647) % ? = ? " +
+        "AND NOT EXISTS (SELECT 1 FROM attendance_record r WHERE r.employee_id = b.employee_id " +
+        "AND r.attendance_date BETWEEN ? AND ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectProvider<PgNotificationListener> notificationListener;
+    
+    @Value("${attendance.bitmap-cache.max-entries:50000}")
+    private int maxEntries;
+    
+    @Value("${attendance.bitmap-cache.ttl-seconds:900}")
+    private long ttlSeconds;
+    
+    private BoundedCache<String, AttendanceMonthSummary> cache;
+    
+    @PostConstruct
+    void init() {
+        cache = new BoundedCache<>("attendance.bitmap.cache", maxEntries, Duration.ofSeconds(ttlSeconds), meterRegistry);
+        
+        notificationListener.ifAvailable(listener -> {
+            // Payload is the changed month, "YYYY-MM"
+            listener.subscribe(NOTIFY_CHANNEL, this::invalidateMonth);
+            listener.onReconnect(() -> cache.invalidateAll());
+        });
+    }
+    
+    public AttendanceMonthSummary getMonth(UUID employeeId, YearMonth month) {
+        return cache.get(key(employeeId, month), key -> loadMonth(employeeId, month));
+    }
+    
+    /**
+     * Patch a cached month after a write made through this service
+     */
+    public void recordDay(UUID employeeId, LocalDate date, String status) {
+        String key = key(employeeId, YearMonth.from(date));
+        AttendanceMonthSummary cached = cache.getIfPresent(key);
+        if (cached != null) {
+            cache.put(key, cached.withDay(date.getDayOfMonth(), status));
+        }
+    }
+    
+    /**
+     * Every active employee's month in one indexed read; a null division means the whole company
+     */
+    public List<AttendanceMonthSummary> getMonthForDivision(UUID divisionId, YearMonth month) {
+        List<AttendanceMonthSummary> summaries = new ArrayList<>();
+        RowCallbackHandler collect = rs -> summaries.add(new AttendanceMonthSummary(
+            rs.getObject("employee_id", UUID.class), month,
+            rs.getInt("present_mask"), rs.getInt("absent_mask"), rs.getInt("half_day_mask"), rs.getInt("leave_mask")));
+        
+        if (divisionId == null) {
+            jdbcTemplate.query(COMPANY_MONTH_SQL, collect, month.getYear(), month.getMonthValue());
+        } else {
+            jdbcTemplate.query(DIVISION_MONTH_SQL, collect, month.getYear(), month.getMonthValue(), divisionId);
+        }
+        return summaries;
+    }
+    
+    /**
+     * Repair drift (e.g. imports run with triggers disabled) for employees hashing to shard,
+     * dropping months whose records were all deleted.
+     * Returns the number of month rows rewritten.
+     */
+    public int reconcileShard(YearMonth month, int shard, int shardCount) {
+        Date first = Date.valueOf(month.atDay(1));
+        Date last = Date.valueOf(month.atEndOfMonth());
+        int repaired = jdbcTemplate.update(RECONCILE_SHARD_SQL, month.getYear(), month.getMonthValue(),
+            first, last, shardCount, shard);
+        repaired += jdbcTemplate.update(RECONCILE_ORPHANS_SQL, month.getYear(), month.getMonthValue(),
+            shardCount, shard, first, last);
+        if (repaired > 0) {
+            invalidateMonth(month.toString());
+        }
+        return repaired;
+    }
+    
+    private void invalidateMonth(String month) {
+        String suffix = ":" + month;
+        cache.invalidateIf(key -> key.endsWith(suffix));
+    }
+    
+    private AttendanceMonthSummary loadMonth(UUID employeeId, YearMonth month) {
+        List<AttendanceMonthSummary> rows = new ArrayList<>(1);
+        jdbcTemplate.query(MONTH_SQL, (RowCallbackHandler) rs -> rows.add(new AttendanceMonthSummary(employeeId, month,
+            rs.getInt("present_mask"), rs.getInt("absent_mask"), rs.getInt("half_day_mask"), rs.getInt("leave_mask"))),
+            employeeId, month.getYear(), month.getMonthValue());
+        return rows.isEmpty() ? AttendanceMonthSummary.empty(employeeId, month) : rows.get(0);
+    }
+    
+    private static String key(UUID employeeId, YearMonth month) {
+        return employeeId + ":" + month;
+    }
+}
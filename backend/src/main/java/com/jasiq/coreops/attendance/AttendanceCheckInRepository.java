@@ -0,0 +1,30 @@
+package com.jasiq.coreops.attendance;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@org.springframework.stereotype.Repository
+public interface AttendanceCheckInRepository extends org.springframework.data.repository.Repository<Attendance, UUID> {
+    
+    /**
+     * Insert today's self-marked attendance in one statement.
+     * Returns the new id, or empty when a row for that employee and date already exists.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO attendance_record " +
+                   "(employee_id, attendance_date, status, source, marked_by, marked_at, created_at, updated_at) " +
+                   "VALUES (:employeeId, :date, :status, 'SELF', :markedBy, :now, :now, :now) " +
+                   "ON CONFLICT (employee_id, attendance_date) DO NOTHING " +
+                   "RETURNING id", nativeQuery = true)
+    Optional<UUID> insertIfAbsent(@Param("employeeId") UUID employeeId,
+                                  @Param("date") LocalDate date,
+                                  @Param("status") String status,
+                                  @Param("markedBy") UUID markedBy,
+                                  @Param("now") Instant now);
+}
@@ -1,36 +1,117 @@
 package com.jasiq.coreops.attendance;
 
-import com.jasiq.coreops.auth.User;
+import com.jasiq.coreops.auth.CurrentEmployee;
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.common.ConditionalGet;
+import com.jasiq.coreops.common.HistoryExporter;
+import com.jasiq.coreops.common.KeysetPager;
+import com.jasiq.coreops.common.ReferenceDataCache;
+import com.jasiq.coreops.leave.LeaveOverlapIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/attendance")
 public class AttendanceControllerExtension {
     
+    private static final String EXPORT_SQL =
+        "SELECT id, attendance_date, status, source, note, marked_at, created_at, updated_at " +
+        "FROM attendance_record WHERE employee_id = ? ORDER BY attendance_date, id";
+    
+    // Mirrors the attendance_record.status CHECK constraint
+    private static final Set<String> STATUSES = Set.of("PRESENT", "ABSENT", "LEAVE", "HALF_DAY");
+    
+    // Bumped by a trigger on every write to the employee's rows (V124); a primary-key lookup
+    private static final String HISTORY_VERSION_SQL =
+        "SELECT version FROM employee_history_version WHERE employee_id = ? AND resource = 'attendance'";
+    
+    @Autowired
+    private AttendanceViewRepository attendanceViewRepository;
+    
+    @Autowired
+    private AttendanceCheckInRepository attendanceCheckInRepository;
+    
+    @Autowired
+    private CheckInRegistry checkInRegistry;
+    
     @Autowired
-    private AttendanceRepository attendanceRepository;
+    private LeaveOverlapIndex leaveOverlapIndex;
+    
+    @Autowired
+    private AttendanceBitmapStore attendanceBitmapStore;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    @Autowired
+    private HistoryExporter historyExporter;
+    
+    @Autowired
+    private ConditionalGet conditionalGet;
+    
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
     
     @Autowired
     private EmployeeRepository employeeRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Counter checkInsCreated;
+    private Counter checkInsDuplicate;
+    
+    @PostConstruct
+    void registerMetrics() {
+        checkInsCreated = Counter.builder("coreops.attendance.checkin").tag("outcome", "created").register(meterRegistry);
+        checkInsDuplicate = Counter.builder("coreops.attendance.checkin").tag("outcome", "duplicate").register(meterRegistry);
+    }
+    
     /**
      * Self-scoped endpoint: Get current employee's attendance
+     * Offset paging by default; keyset paging when a cursor param is present
      */
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> getMyAttendance(Pageable pageable) {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> getMyAttendance(@CurrentEmployee EmployeeContext employee, Pageable pageable,
+                                             @RequestParam(required = false) String cursor, HttpServletRequest request) {
+        UUID employeeId = employee.getEmployeeId();
+        
+        // Opt-in keyset mode: "?cursor=" for the first page, then the returned nextCursor
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(keysetPager.fetch(Attendance.class, "date", employeeId, cursor, pageable.getPageSize(),
+                    Attendance::getDate, Attendance::getId, LocalDate::parse).map(AttendanceView::from));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         
-        Page<Attendance> attendance = attendanceRepository.findByEmployeeIdOrderByDateDesc(employeeId, pageable);
+        // The polled first page answers 304 while nothing has changed
+        if (pageable.getPageNumber() == 0) {
+            return conditionalGet.respond(request, "attendance-me", employeeId + ":" + pageable, HISTORY_VERSION_SQL,
+                new Object[] { employeeId }, () -> attendanceViewRepository.findViewsByEmployeeId(employeeId, pageable));
+        }
+        
+        Page<AttendanceView> attendance = attendanceViewRepository.findViewsByEmployeeId(employeeId, pageable);
         
         return ResponseEntity.ok(attendance);
     }
@@ -40,46 +121,158 @@ public class AttendanceControllerExtension {
      */
     @PostMapping("/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> markMyAttendance(@RequestBody MarkAttendanceRequest request) {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> markMyAttendance(@CurrentEmployee EmployeeContext employee, @RequestBody MarkAttendanceRequest request) {
+        UUID employeeId = employee.getEmployeeId();
+        
+        // marked_by is NOT NULL and status is CHECK-constrained; reject bad input before the insert
+        if (employee.getUserId() == null) {
+            return ResponseEntity.badRequest().body("Token does not identify a user");
+        }
+        String status = request.getStatus() != null ? request.getStatus() : "PRESENT";
+        if (!STATUSES.contains(status)) {
+            return ResponseEntity.badRequest().body("Invalid attendance status: " + status);
+        }
         
-        // Check if already marked for today
+        // Repeat clicks are rejected in-process without touching the database
         LocalDate today = LocalDate.now();
-        if (attendanceRepository.existsByEmployeeIdAndDate(employeeId, today)) {
+        if (checkInRegistry.isMarked(employeeId, today)) {
+            checkInsDuplicate.increment();
             return ResponseEntity.badRequest().body("Attendance already marked for today");
         }
         
+        // Single INSERT ... ON CONFLICT DO NOTHING; the unique (employee_id, attendance_date) key settles races
+        Optional<UUID> attendanceId = attendanceCheckInRepository.insertIfAbsent(
+            employeeId, today, status, employee.getUserId(), Instant.now());
+        
+        // Remembered only once the database has confirmed a row exists, inserted or not
+        if (attendanceId.isEmpty()) {
+            checkInRegistry.markMarked(employeeId, today);
+            checkInsDuplicate.increment();
+            return ResponseEntity.badRequest().body("Attendance already marked for today");
+        }
+        checkInRegistry.markMarked(employeeId, today);
+        checkInsCreated.increment();
+        attendanceBitmapStore.recordDay(employeeId, today, status);
+        if ("PRESENT".equals(status)) {
+            leaveOverlapIndex.recordAttendance(employeeId, today);
+        }
+        
         Attendance attendance = new Attendance();
+        attendance.setId(attendanceId.get());
         attendance.setEmployeeId(employeeId);
         attendance.setDate(today);
-        attendance.setStatus(request.getStatus());
-        attendance.setCheckIn(request.getCheckIn());
-        attendance.setCheckOut(request.getCheckOut());
-        
-        attendance = attendanceRepository.save(attendance);
+        attendance.setStatus(status);
         
         return ResponseEntity.ok(attendance);
     }
     
-    private UUID getCurrentEmployeeId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
-        return user.getEmployeeId();
+    /**
+     * Self-scoped endpoint: Day counts and status bitmaps for one month (default: current)
+     */
+    @GetMapping("/me/month")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<?> getMyMonth(@CurrentEmployee EmployeeContext employee,
+                                        @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(attendanceBitmapStore.getMonth(employee.getEmployeeId(), month != null ? month : YearMonth.now()));
+    }
+    
+    /**
+     * Team endpoint: Month summaries for every active employee of a division, for payroll and dashboards
+     * Defaults to the caller's division; company-scope callers may name another, or omit it for the whole company
+     */
+    @GetMapping("/division/summary")
+    @PreAuthorize("hasAnyAuthority('ATTENDANCE_VIEW_TEAM', 'ATTENDANCE_VIEW_ALL', 'PAYROLL_RUN_READ', 'ADMIN')")
+    public ResponseEntity<?> getDivisionMonthSummary(@CurrentEmployee EmployeeContext employee,
+                                                     @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+                                                     @RequestParam(required = false) UUID divisionId) {
+        boolean companyScope = "COMPANY".equals(employee.getScope());
+        if (divisionId == null && !companyScope) {
+            divisionId = employee.getPrimaryDivisionId();
+        }
+        if (divisionId != null && !divisionId.equals(employee.getPrimaryDivisionId()) && !companyScope) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to view another division");
+        }
+        if (divisionId != null && referenceDataCache.division(divisionId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Division not found");
+        }
+        
+        List<AttendanceMonthSummary> employees = attendanceBitmapStore.getMonthForDivision(divisionId, month);
+        return ResponseEntity.ok(new DivisionMonthSummary(divisionId, month, employees));
+    }
+    
+    /**
+     * Self-scoped endpoint: Stream the full attendance history as NDJSON or CSV
+     */
+    @GetMapping("/me/export")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<?> exportMyAttendance(@CurrentEmployee EmployeeContext employee,
+                                                @RequestParam(defaultValue = "ndjson") String format,
+                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportAttendance(employee.getEmployeeId(), format, gzip);
+    }
+    
+    /**
+     * Compliance export of any employee's attendance history
+     */
+    @GetMapping("/{employeeId}/export")
+    @PreAuthorize("hasAnyAuthority('GOV_AUDIT_EXPORT', 'ADMIN')")
+    public ResponseEntity<?> exportEmployeeAttendance(@PathVariable UUID employeeId,
+                                                      @RequestParam(defaultValue = "ndjson") String format,
+                                                      @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportAttendance(employeeId, format, gzip);
+    }
+    
+    private ResponseEntity<?> exportAttendance(UUID employeeId, String format, boolean gzip) {
+        try {
+            return historyExporter.export(EXPORT_SQL, new Object[] { employeeId }, format, gzip,
+                "attendance-" + employeeId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     public static class MarkAttendanceRequest {
         private String status;
-        private String checkIn;
-        private String checkOut;
         
         // Getters and Setters
         public String getStatus() { return status; }
         public void setStatus(String status) { this.status = status; }
+    }
+    
+    public static class DivisionMonthSummary {
+        private final UUID divisionId;
+        private final String month;
+        private final List<AttendanceMonthSummary> employees;
+        private int presentDays;
+        private int absentDays;
+        private int halfDays;
+        private int leaveDays;
+        
+        public DivisionMonthSummary(UUID divisionId, YearMonth month, List<AttendanceMonthSummary> employees) {
+            this.divisionId = divisionId;
+            this.month = month.toString();
+            this.employees = employees;
+            for (AttendanceMonthSummary summary : employees) {
+                presentDays += summary.getPresentDays();
+                absentDays += summary.getAbsentDays();
+                halfDays += summary.getHalfDays();
+                leaveDays += summary.getLeaveDays();
+            }
+        }
+        
+        // Getters
+        public UUID getDivisionId() { return divisionId; }
+        
+        public String getMonth() { return month; }
+        
+        public List<AttendanceMonthSummary> getEmployees() { return employees; }
+        
+        public int getPresentDays() { return presentDays; }
+        
+        public int getAbsentDays() { return absentDays; }
         
-        public String getCheckIn() { return checkIn; }
-        public void setCheckIn(String checkIn) { this.checkIn = checkIn; }
+        public int getHalfDays() { return halfDays; }
         
-        public String getCheckOut() { return checkOut; }
-        public void setCheckOut(String checkOut) { this.checkOut = checkOut; }
+        public int getLeaveDays() { return leaveDays; }
     }
 }
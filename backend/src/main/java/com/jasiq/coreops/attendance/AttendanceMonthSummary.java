@@ -0,0 +1,73 @@
+package com.jasiq.coreops.attendance;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * One employee's month as status bitmaps: bit (day - 1) is set when that day has the status.
+ * Day counts are bit counts, so summarising a month costs a handful of instructions.
+ */
+public class AttendanceMonthSummary {
+    
+    private final UUID employeeId;
+    private final YearMonth month;
+    private final int presentMask;
+    private final int absentMask;
+    private final int halfDayMask;
+    private final int leaveMask;
+    
+    public AttendanceMonthSummary(UUID employeeId, YearMonth month, int presentMask, int absentMask, int halfDayMask,
+                                  int leaveMask) {
+        this.employeeId = employeeId;
+        this.month = month;
+        this.presentMask = presentMask;
+        this.absentMask = absentMask;
+        this.halfDayMask = halfDayMask;
+        this.leaveMask = leaveMask;
+    }
+    
+    public static AttendanceMonthSummary empty(UUID employeeId, YearMonth month) {
+        return new AttendanceMonthSummary(employeeId, month, 0, 0, 0, 0);
+    }
+    
+    /**
+     * Copy with one day set to status; the day is cleared from every other mask
+     */
+    public AttendanceMonthSummary withDay(int dayOfMonth, String status) {
+        int bit = 1 << (dayOfMonth - 1);
+        int keep = ~bit;
+        return new AttendanceMonthSummary(employeeId, month,
+            (presentMask & keep) | ("PRESENT".equals(status) ? bit : 0),
+            (absentMask & keep) | ("ABSENT".equals(status) ? bit : 0),
+            (halfDayMask & keep) | ("HALF_DAY".equals(status) ? bit : 0),
+            (leaveMask & keep) | ("LEAVE".equals(status) ? bit : 0));
+    }
+    
+    // Getters
+    public UUID getEmployeeId() { return employeeId; }
+    
+    public String getMonth() { return month.toString(); }
+    
+    public int getPresentMask() { return presentMask; }
+    
+    public int getAbsentMask() { return absentMask; }
+    
+    public int getHalfDayMask() { return halfDayMask; }
+    
+    public int getLeaveMask() { return leaveMask; }
+    
+    public int getPresentDays() { return Integer.bitCount(presentMask); }
+    
+    public int getAbsentDays() { return Integer.bitCount(absentMask); }
+    
+    public int getHalfDays() { return Integer.bitCount(halfDayMask); }
+    
+    public int getLeaveDays() { return Integer.bitCount(leaveMask); }
+    
+    /**
+     * Days with no record at all, up to the end of the month
+     */
+    public int getUnmarkedDays() {
+        return month.lengthOfMonth() - Integer.bitCount(presentMask | absentMask | halfDayMask | leaveMask);
+    }
+}
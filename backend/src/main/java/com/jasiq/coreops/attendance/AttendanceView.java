@@ -0,0 +1,40 @@
+package com.jasiq.coreops.attendance;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read model for attendance listings: only the columns the history view shows
+ */
+public class AttendanceView {
+    
+    private final UUID id;
+    private final LocalDate date;
+    private final String status;
+    private final String checkIn;
+    private final String checkOut;
+    
+    public AttendanceView(UUID id, LocalDate date, String status, String checkIn, String checkOut) {
+        this.id = id;
+        this.date = date;
+        this.status = status;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+    
+    public static AttendanceView from(Attendance attendance) {
+        return new AttendanceView(attendance.getId(), attendance.getDate(), attendance.getStatus(),
+            attendance.getCheckIn(), attendance.getCheckOut());
+    }
+    
+    // Getters
+    public UUID getId() { return id; }
+    
+    public LocalDate getDate() { return date; }
+    
+    public String getStatus() { return status; }
+    
+    public String getCheckIn() { return checkIn; }
+    
+    public String getCheckOut() { return checkOut; }
+}
@@ -0,0 +1,20 @@
+package com.jasiq.coreops.attendance;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+@org.springframework.stereotype.Repository
+public interface AttendanceViewRepository extends org.springframework.data.repository.Repository<Attendance, UUID> {
+    
+    /**
+     * Constructor projection: selects five columns and never materializes managed entities
+     */
+    @Query(value = "SELECT new com.jasiq.coreops.attendance.AttendanceView(a.id, a.date, a.status, a.checkIn, a.checkOut) " +
+                   "FROM Attendance a WHERE a.employeeId = :employeeId ORDER BY a.date DESC",
+           countQuery = "SELECT COUNT(a) FROM Attendance a WHERE a.employeeId = :employeeId")
+    Page<AttendanceView> findViewsByEmployeeId(@Param("employeeId") UUID employeeId, Pageable pageable);
+}
@@ -0,0 +1,100 @@
+package com.jasiq.coreops.attendance;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process record of who has already checked in today, one bit per employee.
+ * Employees get a stable slot the first time they are seen; the bitset itself is
+ * replaced when the day rolls over. This is only a fast path to reject repeat clicks:
+ * the database insert stays authoritative, so a missed bit just costs one round-trip.
+ */
+@Component
+public class CheckInRegistry {
+    
+    private static final int INITIAL_WORDS = 64; // 4096 employees before the first resize
+    
+    private final ConcurrentHashMap<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    
+    private volatile DayBits today = new DayBits(LocalDate.now(), INITIAL_WORDS);
+    
+    public boolean isMarked(UUID employeeId, LocalDate date) {
+        DayBits bits = today;
+        if (!bits.date.equals(date)) {
+            return false;
+        }
+        Integer slot = slots.get(employeeId);
+        return slot != null && bits.get(slot);
+    }
+    
+    public void markMarked(UUID employeeId, LocalDate date) {
+        DayBits bits = bitsFor(date);
+        if (bits != null) {
+            bits.set(slots.computeIfAbsent(employeeId, id -> nextSlot.getAndIncrement()));
+        }
+    }
+    
+    private DayBits bitsFor(LocalDate date) {
+        DayBits bits = today;
+        if (bits.date.equals(date)) {
+            return bits;
+        }
+        if (date.isBefore(bits.date)) {
+            return null; // Late write for a previous day, nothing to remember
+        }
+        synchronized (this) {
+            if (!today.date.equals(date)) {
+                today = new DayBits(date, Math.max(INITIAL_WORDS, (nextSlot.get() >>> 6) + 1));
+            }
+            return today;
+        }
+    }
+    
+    private static final class DayBits {
+        private final LocalDate date;
+        private volatile AtomicLongArray words;
+        
+        DayBits(LocalDate date, int wordCount) {
+            this.date = date;
+            this.words = new AtomicLongArray(wordCount);
+        }
+        
+        boolean get(int slot) {
+            AtomicLongArray current = words;
+            int word = slot >>> 6;
+            return word < current.length() && (current.get(word) & (1L << slot)) != 0;
+        }
+        
+        void set(int slot) {
+            int word = slot >>> 6;
+            AtomicLongArray current = words;
+            if (word >= current.length()) {
+                current = grow(word + 1);
+            }
+            long mask = 1L << slot;
+            long prev;
+            do {
+                prev = current.get(word);
+            } while ((prev & mask) == 0 && !current.compareAndSet(word, prev, prev | mask));
+        }
+        
+        private synchronized AtomicLongArray grow(int minWords) {
+            AtomicLongArray current = words;
+            if (current.length() >= minWords) {
+                return current;
+            }
+            AtomicLongArray larger = new AtomicLongArray(Math.max(minWords, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                larger.set(i, current.get(i));
+            }
+            words = larger;
+            return larger;
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.jasiq.coreops.auth;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 @Service
 public class AuthServiceExtension {
     
@@ -19,33 +25,42 @@ public class AuthServiceExtension {
     private JwtTokenProvider jwtTokenProvider;
     
     @Autowired
-    private UserRepository userRepository;
+    private MeterRegistry meterRegistry;
+    
+    private Counter loginSucceeded;
+    private Counter loginInactive;
+    private Counter loginFailed;
+    
+    @PostConstruct
+    void registerMetrics() {
+        loginSucceeded = Counter.builder("coreops.auth.login").tag("outcome", "success").register(meterRegistry);
+        loginInactive = Counter.builder("coreops.auth.login").tag("outcome", "inactive_user").register(meterRegistry);
+        loginFailed = Counter.builder("coreops.auth.login").tag("outcome", "bad_credentials").register(meterRegistry);
+    }
     
     /**
-     * Extended login method that checks if user is active
+     * Extended login method that checks if user is active.
+     * The active check happens inside the authentication provider, so the user is loaded once.
      */
+    @Timed(value = "coreops.auth.login.duration", description = "Login including password check and token issue")
     public String login(String email, String password) {
         try {
-            // Find user first to check if active
-            User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
-            
-            // Check if user is active
-            if (!user.getActive()) {
-                throw new BadCredentialsException("Please set your password before logging in.");
-            }
-            
-            // Proceed with normal authentication
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
             );
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
+            loginSucceeded.increment();
+            
             // Generate JWT token
             return jwtTokenProvider.generateToken(authentication);
             
+        } catch (DisabledException e) {
+            loginInactive.increment();
+            throw new BadCredentialsException("Please set your password before logging in.");
         } catch (AuthenticationException e) {
+            loginFailed.increment();
             throw new BadCredentialsException("Invalid credentials");
         }
     }
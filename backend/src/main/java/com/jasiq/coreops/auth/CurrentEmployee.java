@@ -0,0 +1,17 @@
+package com.jasiq.coreops.auth;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the {@link EmployeeContext} of the authenticated employee into a controller method.
+ * Resolved once per request from the verified JWT claims by {@link CurrentEmployeeArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentEmployee {
+}
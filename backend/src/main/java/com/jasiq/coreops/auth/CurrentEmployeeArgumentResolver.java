@@ -0,0 +1,72 @@
+package com.jasiq.coreops.auth;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentEmployee} parameters from the bearer token claims, completed by a
+ * cached employee lookup when the token carries only sub/role.
+ * The JWT filter normally stores the context on the request already; otherwise the verified
+ * token payload is decoded here and kept on the request so later lookups cost nothing.
+ */
+@Component
+public class CurrentEmployeeArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    @Autowired
+    private JwtPayloadDecoder jwtPayloadDecoder;
+    
+    @Autowired
+    private EmployeeContextResolver employeeContextResolver;
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentEmployee.class)
+            && EmployeeContext.class.isAssignableFrom(parameter.getParameterType());
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        
+        EmployeeContext context = (EmployeeContext) request.getAttribute(EmployeeContext.REQUEST_ATTRIBUTE);
+        if (context == null) {
+            context = resolveFromToken(request);
+            request.setAttribute(EmployeeContext.REQUEST_ATTRIBUTE, context);
+        }
+        
+        if (context.getEmployeeId() == null) {
+            throw new AccessDeniedException("No employee is linked to this account");
+        }
+        
+        return context;
+    }
+    
+    private EmployeeContext resolveFromToken(HttpServletRequest request) {
+        // Only trust the payload once the JWT filter has authenticated the request
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AuthenticationCredentialsNotFoundException("Authentication required");
+        }
+        
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            throw new AuthenticationCredentialsNotFoundException("Bearer token required");
+        }
+        
+        return employeeContextResolver.resolve(jwtPayloadDecoder.decode(header.substring(BEARER_PREFIX.length())));
+    }
+}
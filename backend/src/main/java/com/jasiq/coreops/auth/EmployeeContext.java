@@ -0,0 +1,87 @@
+package com.jasiq.coreops.auth;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Identity of the calling employee as carried by the JWT claims.
+ * Tokens that carry only sub/role are completed by {@link EmployeeContextResolver}.
+ */
+public class EmployeeContext {
+    
+    public static final String REQUEST_ATTRIBUTE = EmployeeContext.class.getName();
+    
+    public static final String CLAIM_SUBJECT = "sub";
+    public static final String CLAIM_EMPLOYEE_ID = "employeeId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SCOPE = "scope";
+    public static final String CLAIM_DIVISION_ID = "primaryDivisionId";
+    
+    private final String subject;
+    private final UUID userId;
+    private final UUID employeeId;
+    private final String role;
+    private final String scope;
+    private final UUID primaryDivisionId;
+    
+    public EmployeeContext(String subject, UUID userId, UUID employeeId, String role, String scope, UUID primaryDivisionId) {
+        this.subject = subject;
+        this.userId = userId;
+        this.employeeId = employeeId;
+        this.role = role;
+        this.scope = scope;
+        this.primaryDivisionId = primaryDivisionId;
+    }
+    
+    /**
+     * Build the context from an already verified claim set
+     */
+    public static EmployeeContext fromClaims(Map<String, Object> claims) {
+        return new EmployeeContext(
+            toText(claims.get(CLAIM_SUBJECT)),
+            toUuid(claims.get(CLAIM_SUBJECT)),
+            toUuid(claims.get(CLAIM_EMPLOYEE_ID)),
+            toText(claims.get(CLAIM_ROLE)),
+            toText(claims.get(CLAIM_SCOPE)),
+            toUuid(claims.get(CLAIM_DIVISION_ID))
+        );
+    }
+    
+    /**
+     * Same identity, with the employee link looked up from the database
+     */
+    public EmployeeContext withEmployee(UUID employeeId, String scope, UUID primaryDivisionId) {
+        return new EmployeeContext(subject, userId, employeeId, role, scope, primaryDivisionId);
+    }
+    
+    private static UUID toUuid(Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static String toText(Object value) {
+        return value == null ? null : value.toString();
+    }
+    
+    // Getters
+    /**
+     * The raw "sub" claim; {@link #getUserId()} is null when it is not a UUID
+     */
+    public String getSubject() { return subject; }
+    
+    public UUID getUserId() { return userId; }
+    
+    public UUID getEmployeeId() { return employeeId; }
+    
+    public String getRole() { return role; }
+    
+    public String getScope() { return scope; }
+    
+    public UUID getPrimaryDivisionId() { return primaryDivisionId; }
+}
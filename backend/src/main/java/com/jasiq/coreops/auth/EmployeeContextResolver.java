@@ -0,0 +1,79 @@
+package com.jasiq.coreops.auth;
+
+import com.jasiq.coreops.common.BoundedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the {@link EmployeeContext} for a verified claim set. Tokens issued by the login
+ * services carry only sub and role, so when the employee claims are absent the link is read
+ * from "user"/employee once per user and cached; the JWT filter then caches the finished
+ * context with the token, so a token costs at most one lookup.
+ */
+@Component
+public class EmployeeContextResolver {
+    
+    private static final String EMPLOYEE_LINK_SQL =
+        "SELECT e.id, e.scope, e.primary_division_id FROM \"user\" u " +
+        "JOIN employee e ON e.id = u.employee_id WHERE u.id = ?";
+    
+    // Users without an employee are cached too, as this marker
+    private static final EmployeeLink NO_EMPLOYEE = new EmployeeLink(null, null, null);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.employee-link-cache.max-entries:20000}")
+    private int maxEntries;
+    
+    @Value("${auth.employee-link-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private BoundedCache<UUID, EmployeeLink> links;
+    
+    @PostConstruct
+    void init() {
+        links = new BoundedCache<>("auth.employee_link.cache", maxEntries, Duration.ofSeconds(ttlSeconds), meterRegistry);
+    }
+    
+    public EmployeeContext resolve(Map<String, Object> claims) {
+        EmployeeContext context = EmployeeContext.fromClaims(claims);
+        if (context.getEmployeeId() != null || context.getUserId() == null) {
+            return context;
+        }
+        
+        EmployeeLink link = links.get(context.getUserId(), this::loadLink);
+        return link == NO_EMPLOYEE ? context : context.withEmployee(link.employeeId, link.scope, link.primaryDivisionId);
+    }
+    
+    private EmployeeLink loadLink(UUID userId) {
+        List<EmployeeLink> rows = jdbcTemplate.query(EMPLOYEE_LINK_SQL, (rs, rowNum) -> new EmployeeLink(
+            rs.getObject("id", UUID.class), rs.getString("scope"), rs.getObject("primary_division_id", UUID.class)),
+            userId);
+        return rows.isEmpty() ? NO_EMPLOYEE : rows.get(0);
+    }
+    
+    private static final class EmployeeLink {
+        private final UUID employeeId;
+        private final String scope;
+        private final UUID primaryDivisionId;
+        
+        EmployeeLink(UUID employeeId, String scope, UUID primaryDivisionId) {
+            this.employeeId = employeeId;
+            this.scope = scope;
+            this.primaryDivisionId = primaryDivisionId;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.jasiq.coreops.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Decodes the claim set of a JWT without checking its signature.
+ * Callers must only use this on tokens the JWT filter has already verified.
+ */
+@Component
+public class JwtPayloadDecoder {
+    
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {};
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public Map<String, Object> decode(String token) {
+        int start = token.indexOf('.');
+        int end = start < 0 ? -1 : token.indexOf('.', start + 1);
+        if (start < 0 || end < 0) {
+            throw new AuthenticationCredentialsNotFoundException("Malformed bearer token");
+        }
+        
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(start + 1, end));
+            return objectMapper.readValue(payload, CLAIMS_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new AuthenticationCredentialsNotFoundException("Malformed bearer token");
+        }
+    }
+    
+    /**
+     * Read the "exp" claim, or null if the token does not carry one
+     */
+    public static Instant expiresAt(Map<String, Object> claims) {
+        Object exp = claims.get("exp");
+        if (exp instanceof Number) {
+            return Instant.ofEpochSecond(((Number) exp).longValue());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.jasiq.coreops.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a small dedicated pool with a bounded queue.
+ * Hashing is deliberately CPU-heavy, so it is kept off request threads and out of
+ * database transactions; when the queue is full new work is rejected rather than
+ * piling up, and callers should answer "try again later".
+ */
+@Component
+public class PasswordHashingExecutor {
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.password-hashing.threads:0}")
+    private int threads;
+    
+    @Value("${auth.password-hashing.queue-capacity:200}")
+    private int queueCapacity;
+    
+    @Value("${auth.password-hashing.timeout-seconds:10}")
+    private long timeoutSeconds;
+    
+    /**
+     * BCrypt cost override; 0 keeps the application's PasswordEncoder.
+     * Only set this when that encoder is plain BCrypt, so stored hashes stay verifiable.
+     */
+    @Value("${auth.password-hashing.bcrypt-cost:0}")
+    private int bcryptCost;
+    
+    private ThreadPoolExecutor pool;
+    private PasswordEncoder encoder;
+    private Timer hashTimer;
+    private Counter rejected;
+    
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        
+        encoder = bcryptCost > 0 ? new BCryptPasswordEncoder(bcryptCost) : passwordEncoder;
+        
+        hashTimer = Timer.builder("auth.password_hash.duration").register(meterRegistry);
+        rejected = Counter.builder("auth.password_hash.rejected").register(meterRegistry);
+        Gauge.builder("auth.password_hash.queue.depth", pool, p -> p.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password_hash.active", pool, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+    
+    /**
+     * Hash a raw password on the hashing pool and wait for the result
+     *
+     * @throws RejectedExecutionException when the pool is saturated or the hash times out
+     */
+    public String encode(String rawPassword) {
+        Future<String> hash;
+        try {
+            hash = pool.submit(() -> hashTimer.record(() -> encoder.encode(rawPassword)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        
+        try {
+            return hash.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            hash.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
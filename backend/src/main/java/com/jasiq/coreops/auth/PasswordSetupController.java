@@ -1,10 +1,16 @@
 package com.jasiq.coreops.auth;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -13,13 +19,38 @@ public class PasswordSetupController {
     @Autowired
     private PasswordSetupService passwordSetupService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Counter setPasswordSucceeded;
+    private Counter setPasswordInvalidToken;
+    private Counter setPasswordRejected;
+    
+    @PostConstruct
+    void registerMetrics() {
+        setPasswordSucceeded = Counter.builder("coreops.auth.set_password").tag("outcome", "success").register(meterRegistry);
+        setPasswordInvalidToken = Counter.builder("coreops.auth.set_password").tag("outcome", "invalid_token").register(meterRegistry);
+        setPasswordRejected = Counter.builder("coreops.auth.set_password").tag("outcome", "overloaded").register(meterRegistry);
+    }
+    
     @PostMapping("/set-password")
     public ResponseEntity<?> setPassword(@Valid @RequestBody SetPasswordRequest request) {
-        boolean success = passwordSetupService.setPassword(request.getToken(), request.getPassword());
+        boolean success;
+        try {
+            success = passwordSetupService.setPassword(request.getToken(), request.getPassword());
+        } catch (RejectedExecutionException e) {
+            setPasswordRejected.increment();
+            // Hashing pool is saturated; shed load instead of queueing without bound
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new MessageResponse("Too many requests right now. Please try again in a few seconds."));
+        }
         
         if (success) {
+            setPasswordSucceeded.increment();
             return ResponseEntity.ok(new MessageResponse("Password set successfully. You can now log in."));
         } else {
+            setPasswordInvalidToken.increment();
             return ResponseEntity.badRequest().body(new MessageResponse("Invalid or expired token."));
         }
     }
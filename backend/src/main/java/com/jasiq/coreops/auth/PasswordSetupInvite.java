@@ -0,0 +1,26 @@
+package com.jasiq.coreops.auth;
+
+import java.util.UUID;
+
+/**
+ * A user that needs a password setup token and invitation email.
+ */
+public class PasswordSetupInvite {
+    
+    private final UUID userId;
+    private final String employeeName;
+    private final String employeeEmail;
+    
+    public PasswordSetupInvite(UUID userId, String employeeName, String employeeEmail) {
+        this.userId = userId;
+        this.employeeName = employeeName;
+        this.employeeEmail = employeeEmail;
+    }
+    
+    // Getters
+    public UUID getUserId() { return userId; }
+    
+    public String getEmployeeName() { return employeeName; }
+    
+    public String getEmployeeEmail() { return employeeEmail; }
+}
@@ -1,13 +1,21 @@
 package com.jasiq.coreops.auth;
 
+import com.jasiq.coreops.config.VerifiedTokenCache;
+import com.jasiq.coreops.notification.EmailOutboxMessage;
+import com.jasiq.coreops.notification.EmailOutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PostConstruct;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -20,10 +28,31 @@ public class PasswordSetupService {
     private UserRepository userRepository;
     
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+    
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    private TransactionTemplate transactionTemplate;
     
     private static final int TOKEN_LENGTH = 32;
     private static final int TOKEN_EXPIRY_HOURS = 48;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String EMAIL_SUBJECT = "Set up your JASIQ CoreOps account";
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
     
     @Transactional
     public PasswordSetupToken createPasswordSetupToken(UUID userId, String employeeName, String employeeEmail) {
@@ -37,57 +66,93 @@ public class PasswordSetupService {
         // Save token
         setupToken = tokenRepository.save(setupToken);
         
-        // Send email (non-blocking, don't fail if email fails)
-        try {
-            sendPasswordSetupEmail(employeeName, employeeEmail, token);
-        } catch (Exception e) {
-            // Log error but don't fail the token creation
-            System.err.println("Failed to send password setup email to " + employeeEmail + ": " + e.getMessage());
-        }
+        // Queue the email in the same transaction; the outbox dispatcher delivers it after commit
+        emailOutboxService.enqueue(employeeEmail, EMAIL_SUBJECT, buildPasswordSetupEmail(employeeName, token));
         
         return setupToken;
     }
     
+    /**
+     * Create setup tokens for many users in one batch.
+     * Invitation emails are written to the outbox in the same transaction.
+     */
     @Transactional
-    public boolean setPassword(String token, String password) {
-        PasswordSetupToken setupToken = tokenRepository.findValidToken(token, Instant.now())
-            .orElse(null);
+    public List<PasswordSetupToken> createPasswordSetupTokens(List<PasswordSetupInvite> invites) {
+        Instant expiresAt = Instant.now().plus(TOKEN_EXPIRY_HOURS, ChronoUnit.HOURS);
+        
+        List<PasswordSetupToken> setupTokens = new ArrayList<>(invites.size());
+        for (PasswordSetupInvite invite : invites) {
+            setupTokens.add(new PasswordSetupToken(invite.getUserId(), generateSecureToken(), expiresAt));
+        }
+        
+        setupTokens = tokenRepository.saveAll(setupTokens);
+        
+        List<EmailOutboxMessage> emails = new ArrayList<>(invites.size());
+        for (int i = 0; i < invites.size(); i++) {
+            PasswordSetupInvite invite = invites.get(i);
+            String body = buildPasswordSetupEmail(invite.getEmployeeName(), setupTokens.get(i).getToken());
+            emails.add(new EmailOutboxMessage(invite.getEmployeeEmail(), EMAIL_SUBJECT, body));
+        }
+        emailOutboxService.enqueueAll(emails);
         
+        return setupTokens;
+    }
+    
+    /**
+     * Hashing runs on the bounded hashing pool before any transaction opens;
+     * only the short consume-and-update step holds a connection
+     */
+    public boolean setPassword(String token, String password) {
+        // Cheap check first so invalid or expired tokens never cost a hash
+        PasswordSetupToken setupToken = tokenRepository.findValidToken(token, Instant.now()).orElse(null);
         if (setupToken == null) {
             return false;
         }
+        UUID userId = setupToken.getUserId();
+        
+        String encodedPassword = passwordHashingExecutor.encode(password);
         
-        // Get user and update password
-        User user = userRepository.findById(setupToken.getUserId())
-            .orElse(null);
+        User updated = transactionTemplate.execute(status -> {
+            // Consume the token with one conditional UPDATE; only one concurrent request gets the row
+            if (tokenRepository.consumeToken(token, Instant.now()) == 0) {
+                return null;
+            }
+            
+            // Get user and update password
+            User user = userRepository.findById(userId)
+                .orElse(null);
+            
+            if (user == null) {
+                status.setRollbackOnly();
+                return null;
+            }
+            
+            user.setPassword(encodedPassword);
+            user.setActive(true);
+            userRepository.save(user);
+            
+            return user;
+        });
         
-        if (user == null) {
+        if (updated == null) {
             return false;
         }
         
-        // Encode and set password
-        user.setPassword(passwordEncoder.encode(password));
-        user.setActive(true);
-        userRepository.save(user);
-        
-        // Mark token as used
-        setupToken.setUsed(true);
-        tokenRepository.save(setupToken);
+        // Committed: drop anything cached for this user so the new password applies at once
+        userDetailsCache.invalidate(updated.getEmail());
+        verifiedTokenCache.invalidateSubject(updated.getId());
         
         return true;
     }
     
-    private String generateSecureToken() {
-        SecureRandom random = new SecureRandom();
+    static String generateSecureToken() {
         byte[] bytes = new byte[TOKEN_LENGTH];
-        random.nextBytes(bytes);
-        return Base64.getUrlEncoder().withoutPadding().toString(bytes);
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
     
-    private void sendPasswordSetupEmail(String employeeName, String employeeEmail, String token) {
-        String subject = "Set up your JASIQ CoreOps account";
-        
-        String body = String.format(
+    private String buildPasswordSetupEmail(String employeeName, String token) {
+        return String.format(
             "Hello %s,\n\n" +
             "Your employee account has been created.\n\n" +
             "Please set your password using the link below:\n" +
@@ -96,13 +161,5 @@ public class PasswordSetupService {
             "– JASIQ Labs",
             employeeName, token
         );
-        
-        emailService.sendEmail(employeeEmail, subject, body);
     }
-    
-    @Autowired
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
-    
-    @Autowired
-    private EmailService emailService;
 }
@@ -0,0 +1,144 @@
+package com.jasiq.coreops.auth;
+
+import com.jasiq.coreops.notification.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes expired and long-used password setup tokens in bounded chunks, and with them the
+ * finished outbox rows whose bodies carried the setup links.
+ * Each chunk is a single DELETE in its own short transaction, so row locks are
+ * released between chunks instead of being held for the whole purge.
+ */
+@Component
+public class PasswordSetupTokenPurger {
+    
+    @Autowired
+    private PasswordSetupTokenRepository tokenRepository;
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.token-purge.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${auth.token-purge.used-retention-days:7}")
+    private long usedRetentionDays;
+    
+    // Matches the setup token lifetime: a link is dead by the time its email row goes
+    @Value("${mail.outbox.retention-hours:48}")
+    private long outboxRetentionHours;
+    
+    @Value("${auth.token-purge.max-runtime-seconds:60}")
+    private long maxRuntimeSeconds;
+    
+    private TransactionTemplate transactionTemplate;
+    private Counter expiredDeleted;
+    private Counter usedDeleted;
+    private Counter outboxDeleted;
+    private Timer purgeTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        expiredDeleted = Counter.builder("auth.token_purge.deleted").tag("kind", "expired").register(meterRegistry);
+        usedDeleted = Counter.builder("auth.token_purge.deleted").tag("kind", "used").register(meterRegistry);
+        outboxDeleted = Counter.builder("auth.token_purge.deleted").tag("kind", "outbox").register(meterRegistry);
+        purgeTimer = Timer.builder("auth.token_purge.duration").register(meterRegistry);
+        Gauge.builder("auth.token_purge.lag.seconds", lagSeconds, AtomicLong::get).register(meterRegistry);
+    }
+    
+    public PurgeReport purge() {
+        Instant started = Instant.now();
+        Instant deadline = started.plusSeconds(maxRuntimeSeconds);
+        Instant usedCutoff = started.minus(usedRetentionDays, ChronoUnit.DAYS);
+        
+        long expired = deleteInChunks(deadline, () -> tokenRepository.deleteExpiredChunk(started, chunkSize));
+        long used = deleteInChunks(deadline, () -> tokenRepository.deleteUsedChunk(usedCutoff, chunkSize));
+        Instant outboxCutoff = started.minus(outboxRetentionHours, ChronoUnit.HOURS);
+        long outbox = deleteInChunks(deadline, () -> outboxRepository.deleteFinishedChunk(outboxCutoff, chunkSize));
+        
+        // Lag: how far behind the purge is, measured by the oldest expired token still present
+        Instant oldestRemaining = tokenRepository.findOldestExpiredBefore(started);
+        long lag = oldestRemaining == null ? 0 : Duration.between(oldestRemaining, started).getSeconds();
+        
+        Duration duration = Duration.between(started, Instant.now());
+        expiredDeleted.increment(expired);
+        usedDeleted.increment(used);
+        outboxDeleted.increment(outbox);
+        purgeTimer.record(duration);
+        lagSeconds.set(lag);
+        
+        return new PurgeReport(expired, used, outbox, duration, lag);
+    }
+    
+    private long deleteInChunks(Instant deadline, ChunkDelete chunk) {
+        long total = 0;
+        while (Instant.now().isBefore(deadline)) {
+            Integer deleted = transactionTemplate.execute(status -> chunk.delete());
+            int count = deleted == null ? 0 : deleted;
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+    
+    @FunctionalInterface
+    private interface ChunkDelete {
+        int delete();
+    }
+    
+    public static class PurgeReport {
+        private final long expiredDeleted;
+        private final long usedDeleted;
+        private final long outboxDeleted;
+        private final Duration duration;
+        private final long lagSeconds;
+        
+        public PurgeReport(long expiredDeleted, long usedDeleted, long outboxDeleted, Duration duration, long lagSeconds) {
+            this.expiredDeleted = expiredDeleted;
+            this.usedDeleted = usedDeleted;
+            this.outboxDeleted = outboxDeleted;
+            this.duration = duration;
+            this.lagSeconds = lagSeconds;
+        }
+        
+        public long getExpiredDeleted() { return expiredDeleted; }
+        
+        public long getUsedDeleted() { return usedDeleted; }
+        
+        public long getOutboxDeleted() { return outboxDeleted; }
+        
+        public Duration getDuration() { return duration; }
+        
+        public long getLagSeconds() { return lagSeconds; }
+        
+        @Override
+        public String toString() {
+            return "expired=" + expiredDeleted + ", used=" + usedDeleted + ", outbox=" + outboxDeleted
+                + ", durationMs=" + duration.toMillis() + ", lagSeconds=" + lagSeconds;
+        }
+    }
+}
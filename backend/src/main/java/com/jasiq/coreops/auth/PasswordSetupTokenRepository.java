@@ -1,6 +1,7 @@
 package com.jasiq.coreops.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,5 +20,34 @@ public interface PasswordSetupTokenRepository extends JpaRepository<PasswordSetu
     @Query("SELECT pst FROM PasswordSetupToken pst WHERE pst.token = :token AND pst.used = false AND pst.expiresAt > :now")
     Optional<PasswordSetupToken> findValidToken(@Param("token") String token, @Param("now") Instant now);
     
-    void deleteByExpiresAtBefore(Instant now);
+    /**
+     * Consume a token atomically: returns 1 for the single caller that flips it to used, 0 for
+     * everyone else (already used, expired or unknown). Concurrent callers serialize on the row lock.
+     */
+    @Modifying
+    @Query(value = "UPDATE password_setup_token SET used = true " +
+                   "WHERE token = :token AND used = false AND expires_at > :now", nativeQuery = true)
+    int consumeToken(@Param("token") String token, @Param("now") Instant now);
+    
+    /**
+     * Delete at most {@code limit} expired tokens in one statement, oldest first,
+     * walking idx_password_setup_token_expires_at
+     */
+    @Modifying
+    @Query(value = "DELETE FROM password_setup_token WHERE id IN (" +
+                   "SELECT id FROM password_setup_token WHERE expires_at < :cutoff " +
+                   "ORDER BY expires_at LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+    
+    /**
+     * Delete at most {@code limit} used tokens last touched before the retention cutoff
+     */
+    @Modifying
+    @Query(value = "DELETE FROM password_setup_token WHERE id IN (" +
+                   "SELECT id FROM password_setup_token WHERE used = true AND updated_at < :cutoff " +
+                   "ORDER BY updated_at LIMIT :limit)", nativeQuery = true)
+    int deleteUsedChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+    
+    @Query("SELECT MIN(pst.expiresAt) FROM PasswordSetupToken pst WHERE pst.expiresAt < :cutoff")
+    Instant findOldestExpiredBefore(@Param("cutoff") Instant cutoff);
 }
@@ -0,0 +1,138 @@
+package com.jasiq.coreops.auth;
+
+import com.jasiq.coreops.common.ReplicaRouting;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived cache of users loaded for login, keyed by lower-cased email.
+ * Misses are cached too, so a burst of retries for the same address costs one query.
+ * Only an immutable snapshot is cached; every load hands out a fresh UserDetails copy,
+ * so credential erasure after authentication never reaches the cache or the entity.
+ * Entries must be invalidated whenever a user's password or active flag changes.
+ * Used as the user source of the login authentication provider.
+ */
+@Component
+public class UserDetailsCache {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.user-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+    
+    @Value("${auth.user-cache.max-entries:10000}")
+    private int maxEntries;
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("auth.user_cache.requests", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("auth.user_cache.requests", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+    }
+    
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        Instant now = Instant.now();
+        
+        Entry entry = entries.get(key);
+        if (entry != null && now.isBefore(entry.expiresAt)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Primary only: a login right after setting a password must see the new hash
+            Optional<User> user = ReplicaRouting.onPrimary(() -> userRepository.findByEmail(email.trim()));
+            // Snapshot while the session is open; the entity itself is never cached
+            entry = new Entry(user.map(Snapshot::of).orElse(null), now.plusSeconds(ttlSeconds));
+            
+            if (entries.size() >= maxEntries) {
+                entries.values().removeIf(e -> !now.isBefore(e.expiresAt));
+                if (entries.size() >= maxEntries) {
+                    entries.clear();
+                }
+            }
+            entries.put(key, entry);
+        }
+        
+        if (entry.user == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return entry.user.toUserDetails();
+    }
+    
+    public void invalidate(String email) {
+        if (email != null) {
+            entries.remove(email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+    
+    private static final class Entry {
+        private final Snapshot user;
+        private final Instant expiresAt;
+        
+        Entry(Snapshot user, Instant expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    /**
+     * Immutable copy of the fields login needs; an inactive user maps to a disabled account
+     */
+    private static final class Snapshot {
+        private final String username;
+        private final String password;
+        private final List<GrantedAuthority> authorities;
+        private final boolean enabled;
+        private final boolean accountNonExpired;
+        private final boolean accountNonLocked;
+        private final boolean credentialsNonExpired;
+        
+        private Snapshot(User user) {
+            this.username = user.getUsername();
+            this.password = user.getPassword();
+            this.authorities = List.copyOf(user.getAuthorities());
+            this.enabled = user.isEnabled() && Boolean.TRUE.equals(user.getActive());
+            this.accountNonExpired = user.isAccountNonExpired();
+            this.accountNonLocked = user.isAccountNonLocked();
+            this.credentialsNonExpired = user.isCredentialsNonExpired();
+        }
+        
+        static Snapshot of(User user) {
+            return new Snapshot(user);
+        }
+        
+        UserDetails toUserDetails() {
+            return org.springframework.security.core.userdetails.User.withUsername(username)
+                .password(password)
+                .authorities(authorities)
+                .disabled(!enabled)
+                .accountExpired(!accountNonExpired)
+                .accountLocked(!accountNonLocked)
+                .credentialsExpired(!credentialsNonExpired)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.jasiq.coreops.common;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small in-process read-through cache with a size bound and a safety TTL.
+ * Hits, misses, evictions and size are published as {@code <name>.requests},
+ * {@code <name>.evictions} and {@code <name>.size}.
+ */
+public class BoundedCache<K, V> {
+    
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Duration ttl;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public BoundedCache(String name, int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        
+        FunctionCounter.builder(name + ".requests", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder(name + ".requests", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder(name + ".evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder(name + ".size", entries, Map::size).register(meterRegistry);
+    }
+    
+    /**
+     * Return the cached value, loading it on a miss. Concurrent misses for one key may
+     * both load; the loader must therefore be side-effect free.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Instant now = Instant.now();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now.isBefore(entry.expiresAt)) {
+            hits.increment();
+            return entry.value;
+        }
+        
+        misses.increment();
+        V value = loader.apply(key);
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry<>(value, now.plus(ttl)));
+        return value;
+    }
+    
+    /**
+     * Cached value or null, without loading; counts as a hit or miss
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && Instant.now().isBefore(entry.expiresAt)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * Store value unless a live entry exists; returns that entry's value, or null if stored
+     */
+    public V putIfAbsent(K key, V value) {
+        Instant now = Instant.now();
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        Entry<V> fresh = new Entry<>(value, now.plus(ttl));
+        Entry<V> winner = entries.compute(key, (k, existing) ->
+            existing != null && now.isBefore(existing.expiresAt) ? existing : fresh);
+        return winner == fresh ? null : winner.value;
+    }
+    
+    public void put(K key, V value) {
+        Instant now = Instant.now();
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry<>(value, now.plus(ttl)));
+    }
+    
+    public void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+    
+    public void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(key -> {
+            boolean match = predicate.test(key);
+            if (match) {
+                evictions.increment();
+            }
+            return match;
+        });
+    }
+    
+    public void invalidateAll() {
+        evictions.add(entries.size());
+        entries.clear();
+    }
+    
+    public long getHitCount() { return hits.sum(); }
+    
+    public long getMissCount() { return misses.sum(); }
+    
+    private void makeRoom(Instant now) {
+        entries.values().removeIf(e -> {
+            boolean expired = !now.isBefore(e.expiresAt);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        
+        Iterator<K> keys = entries.keySet().iterator();
+        int toDrop = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        while (toDrop-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final Instant expiresAt;
+        
+        Entry(V value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
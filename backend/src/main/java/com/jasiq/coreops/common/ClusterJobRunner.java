@@ -0,0 +1,325 @@
+package com.jasiq.coreops.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs @Scheduled work once per cluster rather than once per node. Whole jobs are guarded by
+ * a JobLock; large jobs can be split into shards that nodes claim row by row for a given run.
+ * A shard's lease is renewed while it runs; failed shards are claimed again, by any node, after
+ * an exponential backoff and up to jobs.shard-max-attempts. Every run is recorded in
+ * scheduled_job_run, a sharded run once all of its shards are settled.
+ */
+@Component
+public class ClusterJobRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(ClusterJobRunner.class);
+    
+    private static final String LAST_SUCCESS_SQL =
+        "SELECT last_finished_at FROM scheduled_job_run WHERE job_name = ? AND last_status = 'SUCCEEDED'";
+    
+    private static final String MARK_STARTED_SQL =
+        "INSERT INTO scheduled_job_run (job_name, last_owner, last_started_at, last_status, run_count) " +
+        "VALUES (?, ?, ?, 'RUNNING', 0) " +
+        "ON CONFLICT (job_name) DO UPDATE SET last_owner = EXCLUDED.last_owner, " +
+        "last_started_at = EXCLUDED.last_started_at, last_finished_at = NULL, last_duration_ms = NULL, " +
+        "last_status = 'RUNNING', last_error = NULL";
+    
+    private static final String MARK_FINISHED_SQL =
+        "UPDATE scheduled_job_run SET last_finished_at = ?, last_duration_ms = ?, last_status = ?, " +
+        "last_error = ?, run_count = run_count + 1 WHERE job_name = ? AND last_owner = ?";
+    
+    // When a failed shard may be retried: the retry delay doubles with every attempt
+    private static final String RETRY_AT =
+        "scheduled_job_shard.finished_at + make_interval(secs => ? * power(2, scheduled_job_shard.attempts - 1))";
+    
+    // A shard is claimable when nobody has it yet, it failed and its backoff has passed,
+    // or its owner stopped heartbeating mid-run
+    private static final String CLAIM_SHARD_SQL =
+        "INSERT INTO scheduled_job_shard (job_name, run_key, shard, owner, claimed_at, status, attempts) " +
+        "VALUES (?, ?, ?, ?, ?, 'RUNNING', 1) " +
+        "ON CONFLICT (job_name, run_key, shard) DO UPDATE SET owner = EXCLUDED.owner, " +
+        "claimed_at = EXCLUDED.claimed_at, finished_at = NULL, status = 'RUNNING', " +
+        "attempts = scheduled_job_shard.attempts + 1 " +
+        "WHERE scheduled_job_shard.attempts < ? AND ((scheduled_job_shard.status = 'FAILED' AND " + RETRY_AT + " <= ?) " +
+        "OR (scheduled_job_shard.status = 'RUNNING' AND scheduled_job_shard.claimed_at < ?))";
+    
+    private static final String NEXT_RETRY_SQL =
+        "SELECT MIN(" + RETRY_AT + ") FROM scheduled_job_shard " +
+        "WHERE job_name = ? AND run_key = ? AND status = 'FAILED' AND attempts < ?";
+    
+    private static final String FAILED_SHARDS_SQL =
+        "SELECT shard FROM scheduled_job_shard WHERE job_name = ? AND run_key = ? AND status = 'FAILED'";
+    
+    // Written by whichever node first sees every shard of the run settled (succeeded, or failed
+    // with no attempts left); last_run_key keeps the other nodes from recording it again
+    private static final String RECORD_SHARDED_RUN_SQL =
+        "INSERT INTO scheduled_job_run (job_name, last_owner, last_started_at, last_finished_at, last_duration_ms, " +
+        "last_status, last_error, last_run_key, run_count) " +
+        "SELECT job_name, ?, MIN(claimed_at), MAX(finished_at), " +
+        "(EXTRACT(EPOCH FROM MAX(finished_at) - MIN(claimed_at)) * 1000)::BIGINT, " +
+        "CASE WHEN bool_and(status = 'SUCCEEDED') THEN 'SUCCEEDED' ELSE 'FAILED' END, " +
+        "'Failed shards: ' || string_agg(shard::text, ', ' ORDER BY shard) FILTER (WHERE status = 'FAILED'), " +
+        "run_key, 1 " +
+        "FROM scheduled_job_shard WHERE job_name = ? AND run_key = ? GROUP BY job_name, run_key " +
+        "HAVING COUNT(*) = ? AND bool_and(status = 'SUCCEEDED' OR (status = 'FAILED' AND attempts >= ?)) " +
+        "ON CONFLICT (job_name) DO UPDATE SET last_owner = EXCLUDED.last_owner, " +
+        "last_started_at = EXCLUDED.last_started_at, last_finished_at = EXCLUDED.last_finished_at, " +
+        "last_duration_ms = EXCLUDED.last_duration_ms, last_status = EXCLUDED.last_status, " +
+        "last_error = EXCLUDED.last_error, last_run_key = EXCLUDED.last_run_key, " +
+        "run_count = scheduled_job_run.run_count + 1 " +
+        "WHERE scheduled_job_run.last_run_key IS DISTINCT FROM EXCLUDED.last_run_key";
+    
+    private static final String RENEW_SHARD_SQL =
+        "UPDATE scheduled_job_shard SET claimed_at = ? " +
+        "WHERE job_name = ? AND run_key = ? AND shard = ? AND owner = ? AND status = 'RUNNING'";
+    
+    private static final String FINISH_SHARD_SQL =
+        "UPDATE scheduled_job_shard SET finished_at = ?, status = ? " +
+        "WHERE job_name = ? AND run_key = ? AND shard = ? AND owner = ?";
+    
+    private static final String PURGE_SHARDS_SQL =
+        "DELETE FROM scheduled_job_shard WHERE job_name = ? AND claimed_at < ?";
+    
+    @Autowired
+    private JobLock jobLock;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${jobs.node-id:}")
+    private String configuredNodeId;
+    
+    @Value("${jobs.shard-lease-seconds:900}")
+    private long shardLeaseSeconds;
+    
+    @Value("${jobs.shard-max-attempts:3}")
+    private int shardMaxAttempts;
+    
+    @Value("${jobs.shard-retry-delay-seconds:30}")
+    private long shardRetryDelaySeconds;
+    
+    @Value("${jobs.shard-retention-days:7}")
+    private long shardRetentionDays;
+    
+    private String nodeId;
+    
+    // Renews leases of running shards so a long shard is not taken over by another node
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-shard-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    void init() {
+        // RuntimeMXBean name is "pid@hostname", unique enough to tell nodes apart in the run log
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank()
+            ? ManagementFactory.getRuntimeMXBean().getName()
+            : configuredNodeId;
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+    }
+    
+    /**
+     * Run job on this node only if no other node is running it right now.
+     * Returns false when the run was skipped because another node holds the lock.
+     */
+    public boolean runExclusive(String jobName, Runnable job) {
+        return runExclusive(jobName, Duration.ZERO, job);
+    }
+    
+    /**
+     * As runExclusive, but also skip when any node finished the job successfully within
+     * minInterval. Nodes' fixed-rate timers are not aligned, so the lock alone would only
+     * stop overlapping runs, not a second node repeating the work seconds later.
+     */
+    public boolean runExclusive(String jobName, Duration minInterval, Runnable job) {
+        Optional<JobLock.Held> lock = jobLock.tryAcquire(jobName);
+        if (lock.isEmpty()) {
+            return false;
+        }
+        
+        JobLock.Held held = lock.get();
+        try {
+            if (!minInterval.isZero() && ranWithin(jobName, minInterval)) {
+                return false;
+            }
+            record(jobName, job);
+            return true;
+        } finally {
+            held.close();
+        }
+    }
+    
+    /**
+     * Work through shardCount shards of one run, processing every shard this node can claim.
+     * runKey identifies the run (see slotKey) so a shard finished by one node is not repeated
+     * by a node that fires a little later. A failing shard does not stop the others; passes
+     * repeat until nothing is claimable or waiting out a retry backoff, so failures are retried
+     * here or by later nodes. Throws when shards this node ran are still failing once their
+     * attempts are used up. Returns the number of shards processed here.
+     */
+    public int runSharded(String jobName, String runKey, int shardCount, IntConsumer shardJob) {
+        int processed = 0;
+        Map<Integer, RuntimeException> failures = new TreeMap<>();
+        while (true) {
+            boolean claimedAny = false;
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (!claimShard(jobName, runKey, shard)) {
+                    continue;
+                }
+                claimedAny = true;
+                
+                try {
+                    runShard(jobName, runKey, shard, shardJob);
+                    failures.remove(shard);
+                    processed++;
+                } catch (RuntimeException e) {
+                    log.warn("Shard {} of {} run {} failed", shard, jobName, runKey, e);
+                    failures.put(shard, e);
+                }
+            }
+            if (!claimedAny && !awaitNextRetry(jobName, runKey)) {
+                break;
+            }
+        }
+        
+        jdbcTemplate.update(PURGE_SHARDS_SQL, jobName,
+            Timestamp.from(Instant.now().minus(Duration.ofDays(shardRetentionDays))));
+        recordShardedRun(jobName, runKey, shardCount);
+        
+        // Another node may have retried a shard that failed here
+        if (!failures.isEmpty()) {
+            failures.keySet().retainAll(jdbcTemplate.queryForList(FAILED_SHARDS_SQL, Integer.class, jobName, runKey));
+        }
+        if (!failures.isEmpty()) {
+            Map.Entry<Integer, RuntimeException> first = failures.entrySet().iterator().next();
+            throw new IllegalStateException(failures.size() + " shard(s) of " + jobName + " failed, shards "
+                + failures.keySet() + "; shard " + first.getKey() + ": " + first.getValue().getMessage(),
+                first.getValue());
+        }
+        return processed;
+    }
+    
+    private void runShard(String jobName, String runKey, int shard, IntConsumer shardJob) {
+        long renewSeconds = Math.max(1, shardLeaseSeconds / 3);
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> renewShard(jobName, runKey, shard),
+            renewSeconds, renewSeconds, TimeUnit.SECONDS);
+        
+        boolean succeeded = false;
+        try {
+            shardJob.accept(shard);
+            succeeded = true;
+        } finally {
+            renewal.cancel(false);
+            jdbcTemplate.update(FINISH_SHARD_SQL, Timestamp.from(Instant.now()),
+                succeeded ? "SUCCEEDED" : "FAILED", jobName, runKey, shard, nodeId);
+        }
+    }
+    
+    private void renewShard(String jobName, String runKey, int shard) {
+        try {
+            jdbcTemplate.update(RENEW_SHARD_SQL, Timestamp.from(Instant.now()), jobName, runKey, shard, nodeId);
+        } catch (RuntimeException e) {
+            // Next tick tries again; the lease only lapses if renewals keep failing
+            log.warn("Failed to renew lease of {} shard {}", jobName, shard, e);
+        }
+    }
+    
+    /**
+     * Sleep until the earliest failed shard of the run may be retried; false when none can be
+     */
+    private boolean awaitNextRetry(String jobName, String runKey) {
+        Timestamp retryAt = jdbcTemplate.query(NEXT_RETRY_SQL, rs -> rs.next() ? rs.getTimestamp(1) : null,
+            shardRetryDelaySeconds, jobName, runKey, shardMaxAttempts);
+        if (retryAt == null) {
+            return false;
+        }
+        long waitMillis = Duration.between(Instant.now(), retryAt.toInstant()).toMillis();
+        if (waitMillis > 0) {
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void recordShardedRun(String jobName, String runKey, int shardCount) {
+        try {
+            jdbcTemplate.update(RECORD_SHARDED_RUN_SQL, nodeId, jobName, runKey, shardCount, shardMaxAttempts);
+        } catch (RuntimeException e) {
+            log.error("Failed to record run {} of job {}", runKey, jobName, e);
+        }
+    }
+    
+    /**
+     * Key of the fixed-rate slot now falls into, identical on every node firing in that slot
+     */
+    public static String slotKey(Duration period) {
+        return Long.toString(System.currentTimeMillis() / period.toMillis());
+    }
+    
+    public String getNodeId() { return nodeId; }
+    
+    private boolean ranWithin(String jobName, Duration interval) {
+        Timestamp lastFinished = jdbcTemplate.query(LAST_SUCCESS_SQL,
+            rs -> rs.next() ? rs.getTimestamp(1) : null, jobName);
+        return lastFinished != null && lastFinished.toInstant().isAfter(Instant.now().minus(interval));
+    }
+    
+    private boolean claimShard(String jobName, String runKey, int shard) {
+        Instant now = Instant.now();
+        return jdbcTemplate.update(CLAIM_SHARD_SQL, jobName, runKey, shard, nodeId, Timestamp.from(now),
+            shardMaxAttempts, shardRetryDelaySeconds, Timestamp.from(now),
+            Timestamp.from(now.minusSeconds(shardLeaseSeconds))) == 1;
+    }
+    
+    private void record(String jobName, Runnable job) {
+        Instant startedAt = Instant.now();
+        jdbcTemplate.update(MARK_STARTED_SQL, jobName, nodeId, Timestamp.from(startedAt));
+        
+        String status = "FAILED";
+        String error = null;
+        try {
+            job.run();
+            status = "SUCCEEDED";
+        } catch (RuntimeException e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            Instant finishedAt = Instant.now();
+            try {
+                jdbcTemplate.update(MARK_FINISHED_SQL, Timestamp.from(finishedAt),
+                    Duration.between(startedAt, finishedAt).toMillis(), status, error, jobName, nodeId);
+            } catch (RuntimeException e) {
+                log.error("Failed to record run of job {}", jobName, e);
+            }
+        }
+    }
+}
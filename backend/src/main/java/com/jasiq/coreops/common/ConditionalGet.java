@@ -0,0 +1,133 @@
+package com.jasiq.coreops.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for polled self-service reads. A version-only query (row versions,
+ * updated_at, counts) is hashed into a strong ETag; when it matches If-None-Match the
+ * response is 304 and the entity is never loaded or serialized.
+ * The fingerprint is read before the body, so a concurrent write can only make the tag
+ * older than the body - the next poll then misses and refetches, never the reverse.
+ * The probe runs read-only, so it is served by the replica when one is configured; a
+ * lagging replica likewise only makes the tag older than a body read from the primary.
+ * Cached bodies must go through {@link #respondVersioned} so they can be checked against
+ * the fingerprint, or through {@link #respondTagged} with the version they were cached under;
+ * otherwise a fresh tag could be sent with a stale body.
+ */
+@Component
+public class ConditionalGet {
+    
+    private static final int TAG_BYTES = 16;
+    
+    // Clients may reuse the copy but must revalidate first; shared caches must not store it
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * @param resource      stable name of the representation, e.g. "employee-me"
+     * @param variant       anything else that shapes the body, e.g. the page request
+     * @param versionSql    query whose result changes whenever the body would
+     */
+    public ResponseEntity<?> respond(HttpServletRequest request, String resource, Object variant,
+                                     String versionSql, Object[] args, Supplier<?> body) {
+        return respondVersioned(request, resource, variant, versionSql, args, version -> body.get());
+    }
+    
+    /**
+     * As {@link #respond}, but the body is given the version fingerprint the tag was built from,
+     * so a cache can reload an entry that was loaded under an older version before serving it
+     */
+    public ResponseEntity<?> respondVersioned(HttpServletRequest request, String resource, Object variant,
+                                              String versionSql, Object[] args, Function<String, ?> body) {
+        String version = fingerprint(versionSql, args);
+        return respondTagged(request, resource, variant, version, () -> body.apply(version));
+    }
+    
+    /**
+     * As {@link #respond}, with the version supplied by the caller instead of queried, for bodies
+     * served from a cache that keeps each entry's version and is invalidated on change
+     */
+    public ResponseEntity<?> respondTagged(HttpServletRequest request, String resource, Object variant,
+                                           String version, Supplier<?> body) {
+        String etag = etag(resource, variant, version);
+        
+        if (matches(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+    
+    private String fingerprint(String versionSql, Object[] args) {
+        StringBuilder fingerprint = new StringBuilder();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(versionSql, (RowCallbackHandler) rs -> {
+            int columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                fingerprint.append(rs.getString(i)).append('|');
+            }
+            fingerprint.append('\n');
+        }, args));
+        return fingerprint.toString();
+    }
+    
+    private static String etag(String resource, Object variant, String fingerprint) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((resource + '\n' + variant + '\n' + fingerprint).getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest();
+            byte[] tag = new byte[TAG_BYTES];
+            System.arraycopy(hash, 0, tag, 0, TAG_BYTES);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(tag) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    // If-None-Match uses weak comparison, so a W/ prefix from an intermediary still matches
+    private static boolean matches(HttpServletRequest request, String etag) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals(etag) || value.equals("*")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package com.jasiq.coreops.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. There is no total count;
+ * pass {@code nextCursor} back as {@code cursor} to continue.
+ */
+public class CursorSlice<T> {
+    
+    private final List<T> content;
+    private final String nextCursor;
+    
+    public CursorSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+    
+    public <R> CursorSlice<R> map(Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(content.size());
+        for (T item : content) {
+            mapped.add(mapper.apply(item));
+        }
+        return new CursorSlice<>(mapped, nextCursor);
+    }
+    
+    // Getters
+    public List<T> getContent() { return content; }
+    
+    public String getNextCursor() { return nextCursor; }
+    
+    public boolean isHasNext() { return nextCursor != null; }
+    
+    public int getSize() { return content.size(); }
+}
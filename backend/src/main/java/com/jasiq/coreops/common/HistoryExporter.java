@@ -0,0 +1,204 @@
+package com.jasiq.coreops.common;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a query result straight to the HTTP response as NDJSON or CSV.
+ * Rows come from a forward-only JDBC cursor with a fixed fetch size and are written
+ * one at a time, so memory stays flat regardless of how long the history is.
+ */
+@Component
+public class HistoryExporter {
+    
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${export.fetch-size:500}")
+    private int fetchSize;
+    
+    private final JsonFactory jsonFactory = new JsonFactory();
+    
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Build a streaming download; the query runs only once the response body is written
+     *
+     * @param sql      ordered query whose column labels become the field names
+     * @param baseName file name without extension
+     */
+    public ResponseEntity<StreamingResponseBody> export(String sql, Object[] args, String format, boolean gzip, String baseName) {
+        boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+        if (!csv && format != null && !FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        
+        String fileName = baseName + (csv ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+            : csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson");
+        
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    if (csv) {
+                        writeCsv(sql, args, target);
+                    } else {
+                        writeNdjson(sql, args, target);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (target instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) target).finish();
+            }
+            target.flush();
+        };
+        
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(contentType)
+            .body(body);
+    }
+    
+    private void writeNdjson(String sql, Object[] args, OutputStream out) throws IOException {
+        JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        json.setRootValueSeparator(null);
+        
+        query(sql, args, rs -> {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                json.writeStartObject();
+                for (int c = 1; c <= meta.getColumnCount(); c++) {
+                    json.writeFieldName(meta.getColumnLabel(c));
+                    writeJsonValue(json, rs.getObject(c));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        
+        json.flush();
+    }
+    
+    private void writeCsv(String sql, Object[] args, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        boolean[] headerWritten = { false };
+        
+        query(sql, args, rs -> {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+                if (!headerWritten[0]) {
+                    for (int c = 1; c <= columns; c++) {
+                        if (c > 1) writer.write(',');
+                        writer.write(csvField(meta.getColumnLabel(c)));
+                    }
+                    writer.write('\n');
+                    headerWritten[0] = true;
+                }
+                for (int c = 1; c <= columns; c++) {
+                    if (c > 1) writer.write(',');
+                    Object value = toPlain(rs.getObject(c));
+                    writer.write(value == null ? "" : csvField(value.toString()));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        
+        writer.flush();
+    }
+    
+    private void query(String sql, Object[] args, RowCallbackHandler rowHandler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, rowHandler);
+    }
+    
+    private static void writeJsonValue(JsonGenerator json, Object value) throws IOException {
+        Object plain = toPlain(value);
+        if (plain == null) {
+            json.writeNull();
+        } else if (plain instanceof BigDecimal) {
+            json.writeNumber((BigDecimal) plain);
+        } else if (plain instanceof Integer || plain instanceof Long) {
+            json.writeNumber(((Number) plain).longValue());
+        } else if (plain instanceof Boolean) {
+            json.writeBoolean((Boolean) plain);
+        } else {
+            json.writeString(plain.toString());
+        }
+    }
+    
+    private static Object toPlain(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).toLocalDate();
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toInstant();
+        }
+        return value;
+    }
+    
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
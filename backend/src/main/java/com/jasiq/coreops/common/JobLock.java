@@ -0,0 +1,20 @@
+package com.jasiq.coreops.common;
+
+import java.util.Optional;
+
+/**
+ * Cluster-wide mutual exclusion for scheduled jobs. The Postgres implementation uses
+ * session advisory locks; tests can supply an in-memory one.
+ */
+public interface JobLock {
+    
+    /**
+     * Try to become the only node running jobName; empty when another node holds it
+     */
+    Optional<Held> tryAcquire(String jobName);
+    
+    interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.jasiq.coreops.common;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over an employee's history, newest first.
+ * Each page seeks past the last (sort value, id) seen instead of using OFFSET,
+ * and no count query is issued, so deep pages cost the same as the first.
+ */
+@Component
+public class KeysetPager {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * @param entity     mapped entity with {@code employeeId} and {@code id} attributes
+     * @param sortField  attribute ordered descending, e.g. "date" or "createdAt"
+     * @param sortValue  reads the sort attribute from a row
+     * @param parseValue turns the cursor's text form back into a query parameter
+     */
+    @Transactional(readOnly = true)
+    public <T> CursorSlice<T> fetch(Class<T> entity, String sortField, UUID employeeId, String cursor, int size,
+                                    Function<T, Object> sortValue, Function<T, UUID> idOf,
+                                    Function<String, Object> parseValue) {
+        int limit = Math.min(Math.max(size, 1), MAX_SIZE);
+        String name = entity.getSimpleName();
+        
+        TypedQuery<T> query;
+        if (cursor == null || cursor.isEmpty()) {
+            query = entityManager.createQuery(
+                "SELECT e FROM " + name + " e WHERE e.employeeId = :employeeId " +
+                "ORDER BY e." + sortField + " DESC, e.id DESC", entity);
+        } else {
+            String[] position = decode(cursor);
+            query = entityManager.createQuery(
+                "SELECT e FROM " + name + " e WHERE e.employeeId = :employeeId " +
+                "AND (e." + sortField + " < :sortValue OR (e." + sortField + " = :sortValue AND e.id < :lastId)) " +
+                "ORDER BY e." + sortField + " DESC, e.id DESC", entity);
+            query.setParameter("sortValue", parseSortValue(parseValue, position[0]));
+            query.setParameter("lastId", UUID.fromString(position[1]));
+        }
+        
+        // Fetch one extra row to learn whether another page exists
+        List<T> rows = query
+            .setParameter("employeeId", employeeId)
+            .setMaxResults(limit + 1)
+            .getResultList();
+        
+        if (rows.size() <= limit) {
+            return new CursorSlice<>(rows, null);
+        }
+        
+        List<T> page = rows.subList(0, limit);
+        T last = page.get(limit - 1);
+        return new CursorSlice<>(page, encode(sortValue.apply(last), idOf.apply(last)));
+    }
+    
+    private static Object parseSortValue(Function<String, Object> parseValue, String text) {
+        try {
+            return parseValue.apply(text);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    static String encode(Object sortValue, UUID id) {
+        String raw = sortValue + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String[] position = { raw.substring(0, separator), raw.substring(separator + 1) };
+            UUID.fromString(position[1]);
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
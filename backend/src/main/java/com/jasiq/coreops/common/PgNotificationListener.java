@@ -0,0 +1,144 @@
+package com.jasiq.coreops.common;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Postgres LISTEN/NOTIFY bridge. Holds one dedicated connection, outside the pool,
+ * and hands each notification payload to the handlers registered for its channel.
+ * Reconnects and re-subscribes after a connection failure; callers should treat a
+ * reconnect as "anything may have changed" via {@link #onReconnect(Runnable)}.
+ * Enabled with {@code pg.notify.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "pg.notify.enabled", havingValue = "true")
+public class PgNotificationListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+    
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    
+    @Value("${pg.notify.poll-timeout-ms:1000}")
+    private int pollTimeoutMs;
+    
+    @Value("${pg.notify.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+    
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> reconnectHandlers = new CopyOnWriteArrayList<>();
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    public void subscribe(String channel, Consumer<String> handler) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        handlers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+    
+    public void onReconnect(Runnable handler) {
+        reconnectHandlers.add(handler);
+    }
+    
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "pg-notify-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+    
+    private void run() {
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                
+                Set<String> listening = new HashSet<>();
+                listenNewChannels(connection, listening);
+                
+                if (!firstConnect) {
+                    reconnectHandlers.forEach(Runnable::run);
+                }
+                firstConnect = false;
+                
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    listenNewChannels(connection, listening);
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("LISTEN connection lost, reconnecting", e);
+                firstConnect = false;
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    // Channels may be subscribed after the listener thread has connected
+    private void listenNewChannels(Connection connection, Set<String> listening) throws SQLException {
+        for (String channel : handlers.keySet()) {
+            if (listening.add(channel)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+            }
+        }
+    }
+    
+    private void dispatch(String channel, String payload) {
+        for (Consumer<String> handler : handlers.getOrDefault(channel, List.of())) {
+            try {
+                handler.accept(payload);
+            } catch (RuntimeException e) {
+                log.error("Notification handler for {} failed", channel, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.jasiq.coreops.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Session-level pg_try_advisory_lock(namespace, job) held on a dedicated connection for the
+ * job's duration. If the node dies the session ends and Postgres releases the lock, so there
+ * is no lease to expire or clean up. A connection whose unlock failed is aborted rather than
+ * returned to the pool, since the pooled session could otherwise keep the lock indefinitely.
+ */
+@Component
+public class PostgresAdvisoryJobLock implements JobLock {
+    
+    private static final Logger log = LoggerFactory.getLogger(PostgresAdvisoryJobLock.class);
+    
+    // First key of the two-int lock form, keeping job locks apart from any other advisory lock use
+    private static final int NAMESPACE = 0x6A6F6273; // "jobs"
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Override
+    public Optional<Held> tryAcquire(String jobName) {
+        int key = lockKey(jobName);
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+                statement.setInt(1, NAMESPACE);
+                statement.setInt(2, key);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return Optional.of(new AdvisoryLock(connection, key));
+                    }
+                }
+            }
+            connection.close();
+            return Optional.empty();
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new DataAccessResourceFailureException("Could not take advisory lock for job " + jobName, e);
+        }
+    }
+    
+    static int lockKey(String jobName) {
+        CRC32 crc = new CRC32();
+        crc.update(jobName.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+    
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+    
+    // Ends the physical session, which drops every advisory lock it holds; the pool then
+    // discards the broken connection instead of handing the session to another caller
+    private static void abortQuietly(Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException | RuntimeException e) {
+            log.error("Failed to abort job lock connection", e);
+        }
+    }
+    
+    private static final class AdvisoryLock implements Held {
+        private final Connection connection;
+        private final int key;
+        
+        AdvisoryLock(Connection connection, int key) {
+            this.connection = connection;
+            this.key = key;
+        }
+        
+        @Override
+        public void close() {
+            boolean released = false;
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+                statement.setInt(1, NAMESPACE);
+                statement.setInt(2, key);
+                try (ResultSet rs = statement.executeQuery()) {
+                    released = rs.next() && rs.getBoolean(1);
+                }
+                if (!released) {
+                    log.warn("Advisory lock {} was not held at release", key);
+                }
+            } catch (SQLException e) {
+                log.error("Failed to release advisory lock {}", key, e);
+            } finally {
+                if (!released) {
+                    abortQuietly(connection);
+                }
+                closeQuietly(connection);
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.jasiq.coreops.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Whole-table snapshot of rarely changing reference data: roles, leave types and divisions.
+ * Loaded once at startup and swapped atomically; hits never touch the database.
+ * Governance changes reach it through the reference_data_changed trigger (V116) when
+ * pg.notify is enabled, and the periodic refresh bounds staleness if one is missed.
+ */
+@Component
+public class ReferenceDataCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+    
+    static final String NOTIFY_CHANNEL = "reference_data_changed";
+    
+    private static final String ROLES_SQL = "SELECT id, name FROM role";
+    private static final String LEAVE_TYPES_SQL =
+        "SELECT id, code, name, is_paid, supports_half_day, is_active FROM leave_type ORDER BY code";
+    private static final String DIVISIONS_SQL = "SELECT id, code, name, is_active FROM division ORDER BY code";
+    
+    private static final String ROLE_EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM role WHERE name = ?)";
+    private static final String LEAVE_TYPE_EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM leave_type WHERE id = ?)";
+    private static final String DIVISION_EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM division WHERE id = ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectProvider<PgNotificationListener> notificationListener;
+    
+    private volatile Snapshot snapshot;
+    private volatile long loadedAtMillis;
+    
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter reloadCounter;
+    
+    @PostConstruct
+    void init() {
+        hitCounter = Counter.builder("reference.cache.requests").tag("result", "hit").register(meterRegistry);
+        missCounter = Counter.builder("reference.cache.requests").tag("result", "miss").register(meterRegistry);
+        reloadCounter = Counter.builder("reference.cache.reloads").register(meterRegistry);
+        Gauge.builder("reference.cache.size", this, cache -> cache.snapshot == null ? 0 : cache.snapshot.size())
+            .register(meterRegistry);
+        Gauge.builder("reference.cache.age", this,
+                cache -> cache.loadedAtMillis == 0 ? 0 : (System.currentTimeMillis() - cache.loadedAtMillis) / 1000.0)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        
+        notificationListener.ifAvailable(listener -> {
+            listener.subscribe(NOTIFY_CHANNEL, table -> reloadQuietly());
+            // Notifications sent while disconnected are lost
+            listener.onReconnect(this::reloadQuietly);
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        reloadQuietly();
+    }
+    
+    @Scheduled(fixedDelayString = "${reference-data.refresh-ms:900000}", initialDelayString = "${reference-data.refresh-ms:900000}")
+    public void refresh() {
+        reloadQuietly();
+    }
+    
+    public Optional<UUID> roleId(String name) {
+        return lookup(name, snapshot -> snapshot.roleIds, ROLE_EXISTS_SQL);
+    }
+    
+    public Optional<LeaveTypeRef> leaveType(UUID id) {
+        return lookup(id, snapshot -> snapshot.leaveTypes, LEAVE_TYPE_EXISTS_SQL);
+    }
+    
+    public boolean isActiveLeaveType(UUID id) {
+        return leaveType(id).map(LeaveTypeRef::isActive).orElse(false);
+    }
+    
+    public List<LeaveTypeRef> leaveTypes() {
+        return current().leaveTypeList;
+    }
+    
+    public Optional<DivisionRef> division(UUID id) {
+        return lookup(id, snapshot -> snapshot.divisions, DIVISION_EXISTS_SQL);
+    }
+    
+    public List<DivisionRef> divisions() {
+        return current().divisionList;
+    }
+    
+    /**
+     * Reload now, for in-process changes that must be visible before the notification arrives
+     */
+    public void invalidate() {
+        reload();
+    }
+    
+    /**
+     * A miss may be a row created since the last snapshot whose notification has not arrived
+     * yet: confirm against the table and reload before reporting it absent.
+     */
+    private <K, T> Optional<T> lookup(K key, Function<Snapshot, Map<K, T>> view, String existsSql) {
+        T value = key == null ? null : view.apply(current()).get(key);
+        if (value == null && key != null
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(existsSql, Boolean.class, key))) {
+            value = view.apply(reload()).get(key);
+        }
+        if (value == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(value);
+    }
+    
+    // A failed background reload keeps serving the previous snapshot
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Failed to reload reference data", e);
+        }
+    }
+    
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+    
+    // Tables are small; rebuilding the whole snapshot keeps the three views consistent
+    private synchronized Snapshot reload() {
+        Map<String, UUID> roleIds = new HashMap<>();
+        jdbcTemplate.query(ROLES_SQL, (RowCallbackHandler) rs ->
+            roleIds.put(rs.getString("name"), rs.getObject("id", UUID.class)));
+        
+        List<LeaveTypeRef> leaveTypes = jdbcTemplate.query(LEAVE_TYPES_SQL, (rs, rowNum) -> new LeaveTypeRef(
+            rs.getObject("id", UUID.class), rs.getString("code"), rs.getString("name"),
+            rs.getBoolean("is_paid"), rs.getBoolean("supports_half_day"), rs.getBoolean("is_active")));
+        
+        List<DivisionRef> divisions = jdbcTemplate.query(DIVISIONS_SQL, (rs, rowNum) -> new DivisionRef(
+            rs.getObject("id", UUID.class), rs.getString("code"), rs.getString("name"), rs.getBoolean("is_active")));
+        
+        Snapshot loaded = new Snapshot(roleIds, leaveTypes, divisions);
+        snapshot = loaded;
+        loadedAtMillis = System.currentTimeMillis();
+        reloadCounter.increment();
+        return loaded;
+    }
+    
+    private static final class Snapshot {
+        private final Map<String, UUID> roleIds;
+        private final Map<UUID, LeaveTypeRef> leaveTypes = new HashMap<>();
+        private final List<LeaveTypeRef> leaveTypeList;
+        private final Map<UUID, DivisionRef> divisions = new HashMap<>();
+        private final List<DivisionRef> divisionList;
+        
+        Snapshot(Map<String, UUID> roleIds, List<LeaveTypeRef> leaveTypes, List<DivisionRef> divisions) {
+            this.roleIds = roleIds;
+            this.leaveTypeList = Collections.unmodifiableList(new ArrayList<>(leaveTypes));
+            this.divisionList = Collections.unmodifiableList(new ArrayList<>(divisions));
+            leaveTypes.forEach(type -> this.leaveTypes.put(type.getId(), type));
+            divisions.forEach(division -> this.divisions.put(division.getId(), division));
+        }
+        
+        int size() {
+            return roleIds.size() + leaveTypes.size() + divisions.size();
+        }
+    }
+    
+    public static class LeaveTypeRef {
+        private final UUID id;
+        private final String code;
+        private final String name;
+        private final boolean paid;
+        private final boolean supportsHalfDay;
+        private final boolean active;
+        
+        public LeaveTypeRef(UUID id, String code, String name, boolean paid, boolean supportsHalfDay, boolean active) {
+            this.id = id;
+            this.code = code;
+            this.name = name;
+            this.paid = paid;
+            this.supportsHalfDay = supportsHalfDay;
+            this.active = active;
+        }
+        
+        // Getters
+        public UUID getId() { return id; }
+        public String getCode() { return code; }
+        public String getName() { return name; }
+        public boolean isPaid() { return paid; }
+        public boolean isSupportsHalfDay() { return supportsHalfDay; }
+        public boolean isActive() { return active; }
+    }
+    
+    public static class DivisionRef {
+        private final UUID id;
+        private final String code;
+        private final String name;
+        private final boolean active;
+        
+        public DivisionRef(UUID id, String code, String name, boolean active) {
+            this.id = id;
+            this.code = code;
+            this.name = name;
+            this.active = active;
+        }
+        
+        // Getters
+        public UUID getId() { return id; }
+        public String getCode() { return code; }
+        public String getName() { return name; }
+        public boolean isActive() { return active; }
+    }
+}
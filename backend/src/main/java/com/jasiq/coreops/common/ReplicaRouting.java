@@ -0,0 +1,48 @@
+package com.jasiq.coreops.common;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override of read-replica routing. Read-only transactions normally go to the
+ * replica when one is configured; work that must see the latest committed state, such as
+ * filling a cache that is invalidated by primary-side notifications, runs inside
+ * {@link #onPrimary(Supplier)}. Without a replica this is a no-op.
+ */
+public final class ReplicaRouting {
+    
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    
+    private ReplicaRouting() {
+    }
+    
+    /**
+     * Run work against the primary. Connections are bound lazily, so this also holds inside a
+     * read-only transaction as long as that transaction has not issued a statement yet.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean previous = forcePrimary(true);
+        try {
+            return work.get();
+        } finally {
+            forcePrimary(previous);
+        }
+    }
+    
+    /**
+     * Set the override for the current thread and return the previous value, for callers that
+     * need to restore it in a finally block
+     */
+    public static boolean forcePrimary(boolean force) {
+        boolean previous = PRIMARY_FORCED.get();
+        if (force) {
+            PRIMARY_FORCED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_FORCED.remove();
+        }
+        return previous;
+    }
+    
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get();
+    }
+}
@@ -0,0 +1,82 @@
+package com.jasiq.coreops.config;
+
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.auth.EmployeeContextResolver;
+import com.jasiq.coreops.auth.JwtPayloadDecoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Puts a {@link VerifiedTokenCache} in front of {@link JwtTokenFilter}.
+ * A cache hit restores the authentication and employee context without touching the signature;
+ * a miss runs the original filter and caches whatever authentication it established.
+ */
+public class CachingJwtTokenFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final JwtTokenFilter delegate;
+    private final VerifiedTokenCache cache;
+    private final JwtPayloadDecoder payloadDecoder;
+    private final EmployeeContextResolver employeeContextResolver;
+    
+    public CachingJwtTokenFilter(JwtTokenFilter delegate, VerifiedTokenCache cache, JwtPayloadDecoder payloadDecoder,
+                                 EmployeeContextResolver employeeContextResolver) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.payloadDecoder = payloadDecoder;
+        this.employeeContextResolver = employeeContextResolver;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token == null) {
+            delegate.doFilter(request, response, chain);
+            return;
+        }
+        
+        VerifiedTokenCache.Entry entry = cache.get(token);
+        if (entry != null) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(entry.getAuthentication());
+            SecurityContextHolder.setContext(context);
+            if (entry.getEmployeeContext() != null) {
+                request.setAttribute(EmployeeContext.REQUEST_ATTRIBUTE, entry.getEmployeeContext());
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        // Let the original filter verify, then cache its outcome before continuing the chain
+        delegate.doFilter(request, response, (req, res) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()) {
+                Map<String, Object> claims = payloadDecoder.decode(token);
+                EmployeeContext employeeContext = employeeContextResolver.resolve(claims);
+                request.setAttribute(EmployeeContext.REQUEST_ATTRIBUTE, employeeContext);
+                cache.put(token, authentication, employeeContext, JwtPayloadDecoder.expiresAt(claims));
+            }
+            chain.doFilter(req, res);
+        });
+    }
+    
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return header.substring(BEARER_PREFIX.length());
+    }
+}
@@ -0,0 +1,48 @@
+package com.jasiq.coreops.config;
+
+import com.jasiq.coreops.attendance.AttendanceBitmapStore;
+import com.jasiq.coreops.common.PgNotificationListener;
+import com.jasiq.coreops.leave.LeaveBalanceCache;
+import com.jasiq.coreops.leave.LeaveOverlapIndex;
+import com.jasiq.coreops.notification.StatusEventHub;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Set;
+
+/**
+ * Opt-in "fast-startup" profile. application-fast-startup.properties turns on lazy
+ * initialisation; this keeps eager the beans that must exist without ever being injected:
+ * anything with @Scheduled or event listener methods (ScheduledTasks, the outbox dispatcher,
+ * cache warmers) and the LISTEN/NOTIFY subscribers, which register in @PostConstruct.
+ * Controllers and services stay lazy, so each is built on its first request.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+    
+    private static final Set<Class<?>> NOTIFY_SUBSCRIBERS = Set.of(
+        PgNotificationListener.class,
+        LeaveBalanceCache.class,
+        LeaveOverlapIndex.class,
+        AttendanceBitmapStore.class,
+        StatusEventHub.class);
+    
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return (beanName, beanDefinition, beanType) -> NOTIFY_SUBSCRIBERS.contains(beanType) || hasCallbackMethods(beanType);
+    }
+    
+    // @TransactionalEventListener is meta-annotated with @EventListener, so the merged lookup finds both
+    private static boolean hasCallbackMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+            AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, EventListener.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,24 @@
+package com.jasiq.coreops.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC batching for saveAll() so bulk inserts go out as batched statements
+ * instead of one round-trip per row.
+ */
+@Configuration
+public class JpaBatchingConfig {
+    
+    private static final int BATCH_SIZE = 100;
+    
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", BATCH_SIZE);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
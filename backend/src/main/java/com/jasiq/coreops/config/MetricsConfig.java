@@ -0,0 +1,68 @@
+package com.jasiq.coreops.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Latency histograms and cardinality guards for the Prometheus export.
+ * Endpoint timers (http.server.requests), repository timers (spring.data.repository.invocations),
+ * scheduled jobs and our own timers get percentile histograms bounded to 1 ms - 30 s, so each
+ * timer costs a fixed ~70 buckets. Percentiles are computed server-side from the buckets.
+ */
+@Configuration
+@PropertySource("classpath:metrics-defaults.properties")
+public class MetricsConfig {
+    
+    private static final List<String> HISTOGRAM_PREFIXES = List.of(
+        "http.server.requests",
+        "spring.data.repository.invocations",
+        "tasks.scheduled.execution",
+        "coreops.",
+        "outbox.email.send",
+        "auth.");
+    
+    // Unmatched paths (scanners, typos) would otherwise mint a uri tag each
+    private static final int MAX_URI_TAGS = 200;
+    
+    @Bean
+    public MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || HISTOGRAM_PREFIXES.stream().noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(true)
+                    .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                    .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+    
+    @Bean
+    public MeterFilter uriCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", MAX_URI_TAGS, MeterFilter.deny());
+    }
+    
+    /**
+     * Enables @Timed on components such as the scheduled jobs
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
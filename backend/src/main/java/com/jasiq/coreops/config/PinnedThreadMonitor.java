@@ -0,0 +1,105 @@
+package com.jasiq.coreops.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier (blocking inside synchronized
+ * code or a native frame) for longer than the threshold, via the JFR jdk.VirtualThreadPinned
+ * event. Each occurrence counts towards coreops.virtual_threads.pinned{source}; the stack is
+ * logged at most once per minute per source so a hot path cannot flood the log.
+ */
+@Component
+@Profile("virtual-threads")
+public class PinnedThreadMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    
+    private static final Duration LOG_INTERVAL = Duration.ofMinutes(1);
+    
+    // Low-cardinality source tag: which library the pinning frame belongs to
+    private static final List<String[]> SOURCES = List.of(
+        new String[] { "org.postgresql.", "postgresql" },
+        new String[] { "com.zaxxer.hikari.", "hikari" },
+        new String[] { "org.hibernate.", "hibernate" },
+        new String[] { "com.jasiq.", "application" });
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${vt.pinned.threshold-ms:20}")
+    private long thresholdMs;
+    
+    @Value("${vt.pinned.stack-depth:24}")
+    private int stackDepth;
+    
+    private final ConcurrentHashMap<String, Instant> lastLogged = new ConcurrentHashMap<>();
+    
+    private RecordingStream stream;
+    
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String source = classify(frames);
+        Counter.builder("coreops.virtual_threads.pinned").tag("source", source).register(meterRegistry).increment();
+        
+        Instant now = Instant.now();
+        Instant previous = lastLogged.get(source);
+        if (previous != null && now.isBefore(previous.plus(LOG_INTERVAL))) {
+            return;
+        }
+        lastLogged.put(source, now);
+        
+        StringBuilder message = new StringBuilder("Virtual thread pinned for ")
+            .append(event.getDuration().toMillis()).append(" ms (").append(source).append("):");
+        for (int i = 0; i < Math.min(stackDepth, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            message.append("\n    at ").append(frame.getMethod().getType().getName())
+                .append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber());
+        }
+        log.warn("{}", message);
+    }
+    
+    private static String classify(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            for (String[] source : SOURCES) {
+                if (type.startsWith(source[0])) {
+                    return source[1];
+                }
+            }
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,87 @@
+package com.jasiq.coreops.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read-replica routing, enabled with replica.enabled=true and replica.datasource.url.
+ * @Transactional(readOnly = true) work - Spring Data finders, KeysetPager, the ConditionalGet
+ * version probe - is served by the "replica" pool while its lag stays within
+ * replica.max-lag-ms; writes, lagging replicas and users who just wrote use "primary".
+ * Hikari publishes hikaricp.connections.* per pool, which shows the offload.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return pool;
+    }
+    
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaPool(DataSourceProperties properties,
+                                        @Value("${replica.datasource.url}") String url,
+                                        @Value("${replica.datasource.username:}") String username,
+                                        @Value("${replica.datasource.password:}") String password) {
+        // Credentials default to the primary's
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+            .url(url)
+            .username(username.isEmpty() ? properties.determineUsername() : username)
+            .password(password.isEmpty() ? properties.determinePassword() : password)
+            .build();
+        pool.setPoolName(ReplicaRoutingDataSource.REPLICA);
+        pool.setReadOnly(true);
+        return pool;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaPool") DataSource replicaPool,
+                                               @Value("${replica.max-lag-ms:2000}") long maxLagMs,
+                                               @Value("${replica.lag-check-interval-ms:1000}") long checkIntervalMs,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaPool, maxLagMs, checkIntervalMs, meterRegistry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") DataSource primaryPool,
+                                 @Qualifier("replicaPool") DataSource replicaPool,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryPool, replicaPool, replicaLagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    /**
+     * The window should cover replica.max-lag-ms, the most a replica read can trail the primary
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${replica.read-your-writes-ms:5000}") long windowMs, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(Duration.ofMillis(windowMs), meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // After Spring Security, so the EmployeeContext is resolved
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jasiq.coreops.config;
+
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.common.BoundedCache;
+import com.jasiq.coreops.common.ReplicaRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Read-your-writes for replica routing: after a user's successful write, that user's
+ * requests read from the primary for a short window. Tracked per user on this node and
+ * in a short-lived cookie, so a browser landing on another node is pinned as well.
+ * Runs after Spring Security, which has resolved the EmployeeContext by then.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    static final String COOKIE_NAME = "coreops_rw";
+    
+    private final BoundedCache<UUID, Boolean> recentWriters;
+    private final int windowSeconds;
+    
+    public ReadYourWritesFilter(Duration window, MeterRegistry meterRegistry) {
+        this.recentWriters = new BoundedCache<>("replica.read_your_writes", 50000, window, meterRegistry);
+        this.windowSeconds = (int) Math.max(1, window.getSeconds());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        UUID userId = userId(request);
+        boolean pinned = hasCookie(request) || (userId != null && recentWriters.getIfPresent(userId) != null);
+        
+        boolean write = isWrite(request);
+        if (write) {
+            // Before the chain: the body is usually committed by the time it returns.
+            // Pinning after a failed write only costs a few primary reads.
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setMaxAge(windowSeconds);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setSecure(request.isSecure());
+            response.addCookie(cookie);
+        }
+        
+        boolean previous = ReplicaRouting.forcePrimary(pinned || ReplicaRouting.isPrimaryForced());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.forcePrimary(previous);
+        }
+        
+        if (write && userId != null && response.getStatus() < 400) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+    
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+    
+    private static UUID userId(HttpServletRequest request) {
+        Object context = request.getAttribute(EmployeeContext.REQUEST_ATTRIBUTE);
+        return context instanceof EmployeeContext ? ((EmployeeContext) context).getUserId() : null;
+    }
+    
+    private static boolean hasCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
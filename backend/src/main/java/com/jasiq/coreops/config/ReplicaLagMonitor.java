@@ -0,0 +1,61 @@
+package com.jasiq.coreops.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Samples replay lag on the replica and decides whether it is inside the staleness budget.
+ * An idle primary leaves pg_last_xact_replay_timestamp() behind, so a replica that has
+ * replayed everything it received counts as zero lag. A failed or overdue sample counts as
+ * over budget, sending reads back to the primary until the replica answers again.
+ */
+public class ReplicaLagMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    private static final String LAG_SQL =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+    
+    private volatile double lagMs = Double.NaN;
+    private volatile long sampledAtMs;
+    
+    public ReplicaLagMonitor(DataSource replica, long maxLagMs, long checkIntervalMs, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+        Gauge.builder("coreops.datasource.replica.lag", this, monitor -> monitor.lagMs / 1000.0)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval-ms:1000}")
+    public void sample() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lagMs = lag == null ? 0 : lag;
+            sampledAtMs = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            lagMs = Double.NaN;
+            log.warn("Replica lag check failed", e);
+        }
+    }
+    
+    public boolean isWithinBudget() {
+        double lag = lagMs;
+        return !Double.isNaN(lag)
+            && lag <= maxLagMs
+            && System.currentTimeMillis() - sampledAtMs <= 3 * checkIntervalMs;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jasiq.coreops.config;
+
+import com.jasiq.coreops.common.ReplicaRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to
+ * the primary. Must sit behind a LazyConnectionDataSourceProxy: the read-only flag of a
+ * transaction is only published after the transaction manager has asked for its connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+    
+    private final ReplicaLagMonitor lagMonitor;
+    
+    private final Counter toPrimaryForWrite;
+    private final Counter toPrimaryForced;
+    private final Counter toPrimaryLagging;
+    private final Counter toReplica;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        
+        toPrimaryForWrite = route(meterRegistry, PRIMARY, "write");
+        toPrimaryForced = route(meterRegistry, PRIMARY, "forced");
+        toPrimaryLagging = route(meterRegistry, PRIMARY, "lag");
+        toReplica = route(meterRegistry, REPLICA, "read_only");
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            toPrimaryForWrite.increment();
+            return PRIMARY;
+        }
+        if (ReplicaRouting.isPrimaryForced()) {
+            toPrimaryForced.increment();
+            return PRIMARY;
+        }
+        if (!lagMonitor.isWithinBudget()) {
+            toPrimaryLagging.increment();
+            return PRIMARY;
+        }
+        toReplica.increment();
+        return REPLICA;
+    }
+    
+    private static Counter route(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("coreops.datasource.route")
+            .tag("pool", pool)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
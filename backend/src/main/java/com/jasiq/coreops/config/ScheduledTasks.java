@@ -1,27 +1,81 @@
 package com.jasiq.coreops.config;
 
-import com.jasiq.coreops.auth.PasswordSetupTokenRepository;
+import com.jasiq.coreops.attendance.AttendanceBitmapStore;
+import com.jasiq.coreops.auth.PasswordSetupTokenPurger;
+import com.jasiq.coreops.common.ClusterJobRunner;
+import com.jasiq.coreops.timesheet.TimesheetBatchService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
 
 @Component
 public class ScheduledTasks {
     
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTasks.class);
+    
+    private static final int BITMAP_RECONCILE_SHARDS = 16;
+    
     @Autowired
-    private PasswordSetupTokenRepository passwordSetupTokenRepository;
+    private PasswordSetupTokenPurger passwordSetupTokenPurger;
+    
+    @Autowired
+    private TimesheetBatchService timesheetBatchService;
+    
+    @Autowired
+    private AttendanceBitmapStore attendanceBitmapStore;
+    
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
     
     /**
-     * Clean up expired password setup tokens
-     * Runs every hour
+     * Clean up expired and long-used password setup tokens
+     * Runs every hour, in bounded chunks, on one node of the cluster
      */
     @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    @Transactional
+    @Timed(value = "coreops.scheduled.duration", extraTags = { "job", "password_token_purge" })
     public void cleanupExpiredTokens() {
-        Instant now = Instant.now();
-        passwordSetupTokenRepository.deleteByExpiresAtBefore(now);
+        boolean ran = clusterJobRunner.runExclusive("password_token_purge", Duration.ofMinutes(55), () -> {
+            PasswordSetupTokenPurger.PurgeReport report = passwordSetupTokenPurger.purge();
+            log.info("Password setup token purge: {}", report);
+        });
+        if (!ran) {
+            log.debug("Password setup token purge already handled by another node, skipped");
+        }
+    }
+    
+    /**
+     * Drop batch timesheet idempotency keys past their retention window
+     * Runs every hour, on one node of the cluster
+     */
+    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
+    @Timed(value = "coreops.scheduled.duration", extraTags = { "job", "timesheet_idempotency_purge" })
+    public void purgeTimesheetIdempotencyKeys() {
+        clusterJobRunner.runExclusive("timesheet_idempotency_purge", Duration.ofMinutes(55), () -> {
+            long deleted = timesheetBatchService.purgeExpiredKeys();
+            log.info("Timesheet idempotency key purge: deleted={}", deleted);
+        });
+    }
+    
+    /**
+     * Re-derive attendance month bitmaps from attendance_record for the month of yesterday,
+     * so month-close reads repaired masks. Nightly, split into shards any node may claim.
+     */
+    @Scheduled(cron = "${attendance.bitmap-reconcile.cron:0 30 2 * * *}")
+    @Timed(value = "coreops.scheduled.duration", extraTags = { "job", "attendance_bitmap_reconcile" })
+    public void reconcileAttendanceBitmaps() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        YearMonth month = YearMonth.from(yesterday);
+        int[] repaired = { 0 };
+        // The run key is the date, so nodes firing the same night share one set of shards
+        int shards = clusterJobRunner.runSharded("attendance_bitmap_reconcile", yesterday.toString(), BITMAP_RECONCILE_SHARDS,
+            shard -> repaired[0] += attendanceBitmapStore.reconcileShard(month, shard, BITMAP_RECONCILE_SHARDS));
+        log.info("Attendance bitmap reconcile for {}: shards={}, repaired={}", month, shards, repaired[0]);
     }
 }
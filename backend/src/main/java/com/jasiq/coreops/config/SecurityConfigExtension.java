@@ -1,16 +1,27 @@
 package com.jasiq.coreops.config;
 
-import com.jasiq.coreops.auth.User;
+import com.jasiq.coreops.auth.EmployeeContextResolver;
+import com.jasiq.coreops.auth.JwtPayloadDecoder;
+import com.jasiq.coreops.auth.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
@@ -19,11 +30,30 @@ public class SecurityConfigExtension {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private JwtPayloadDecoder jwtPayloadDecoder;
+    
+    @Autowired
+    private EmployeeContextResolver employeeContextResolver;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
-            .addFilterBefore(new JwtTokenFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(
+                new CachingJwtTokenFilter(new JwtTokenFilter(jwtTokenProvider), verifiedTokenCache, jwtPayloadDecoder,
+                    employeeContextResolver),
+                UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches of an already-authorized stream or export carry no security context;
+                // first match wins, so this must precede the path rules
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Employee routes - only EMPLOYEE role
                 .requestMatchers("/api/v1/employees/me").hasAuthority("EMPLOYEE")
                 .requestMatchers("/api/v1/attendance/me").hasAuthority("EMPLOYEE")
@@ -31,10 +61,14 @@ public class SecurityConfigExtension {
                 .requestMatchers("/api/v1/timesheets/me").hasAuthority("EMPLOYEE")
                 .requestMatchers("/api/v1/leave/me").hasAuthority("EMPLOYEE")
                 .requestMatchers("/api/v1/leave/balance/me").hasAuthority("EMPLOYEE")
+                .requestMatchers("/api/v1/events/me").hasAuthority("EMPLOYEE")
                 
                 // Password setup - public
                 .requestMatchers("/api/v1/auth/set-password").permitAll()
                 
+                // Health and Prometheus scrape - served on the internal management port
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                
                 // Block employees from admin routes
                 .requestMatchers("/admin/**").denyAll()
                 .requestMatchers("/governance/**").denyAll()
@@ -48,6 +82,29 @@ public class SecurityConfigExtension {
         return http.build();
     }
     
+    /**
+     * Login provider: loads the user once (through the short-lived cache) and rejects
+     * inactive accounts before the password is checked. The cache maps an inactive user
+     * to a disabled account, so the status checker throws DisabledException for it.
+     */
+    @Bean
+    public DaoAuthenticationProvider activeUserAuthenticationProvider(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsCache::loadUserByUsername);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setPreAuthenticationChecks(new AccountStatusUserDetailsChecker());
+        return provider;
+    }
+    
+    /**
+     * The manager AuthServiceExtension.login authenticates against, wired to the provider above
+     * explicitly rather than relying on the global default picking up a lone provider bean
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(DaoAuthenticationProvider activeUserAuthenticationProvider) {
+        return new ProviderManager(activeUserAuthenticationProvider);
+    }
+    
     @Bean
     public MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
         DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
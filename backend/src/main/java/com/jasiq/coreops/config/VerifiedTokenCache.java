@@ -0,0 +1,223 @@
+package com.jasiq.coreops.config;
+
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.common.PgNotificationListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of bearer tokens whose signature has already been verified.
+ * Keyed by a SHA-256 digest so raw tokens are never kept in memory, and no entry
+ * outlives the token's own expiry, the configured max age or a subject revocation.
+ * Password, activation and role changes and logouts are broadcast on the
+ * token_subject_revoked channel (V123) when pg.notify is enabled; without it, or while
+ * the listener reconnects, a change made on another node is seen within the max age,
+ * which is capped at MAX_AGE_CAP_SECONDS.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    static final String NOTIFY_CHANNEL = "token_subject_revoked";
+    
+    // Upper bound on how long another node may keep accepting a revoked user's cached token
+    static final long MAX_AGE_CAP_SECONDS = 300;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectProvider<PgNotificationListener> notificationListener;
+    
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries;
+    
+    @Value("${jwt.cache.max-age-seconds:300}")
+    private long maxAgeSeconds;
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Instant> revokedSubjects = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("jwt.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.evictions", evictions, LongAdder::sum)
+            .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", entries, Map::size)
+            .register(meterRegistry);
+        
+        maxAgeSeconds = Math.min(maxAgeSeconds, MAX_AGE_CAP_SECONDS);
+        notificationListener.ifAvailable(listener -> {
+            // Payload is the user id, the token's raw "sub"
+            listener.subscribe(NOTIFY_CHANNEL, this::invalidateSubject);
+            // Revocations sent while disconnected are lost
+            listener.onReconnect(this::invalidateAll);
+        });
+    }
+    
+    /**
+     * Look up a verified token, or null when it must go through full verification
+     */
+    public Entry get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        
+        if (!entry.isUsable(Instant.now(), revokedSubjects)) {
+            entries.remove(key, entry);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        
+        hits.increment();
+        return entry;
+    }
+    
+    public void put(String token, Authentication authentication, EmployeeContext employeeContext, Instant tokenExpiresAt) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(maxAgeSeconds);
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(expiresAt)) {
+            expiresAt = tokenExpiresAt;
+        }
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        
+        entries.put(digest(token), new Entry(authentication, employeeContext, now, expiresAt));
+    }
+    
+    /**
+     * Drop every cached token of a user on this node, e.g. right after a password change.
+     * Tokens cached before this instant are re-verified on their next use; other nodes
+     * follow through the token_subject_revoked notification.
+     */
+    public void invalidateSubject(UUID userId) {
+        if (userId != null) {
+            invalidateSubject(userId.toString());
+        }
+    }
+    
+    /**
+     * Same, keyed on the raw "sub" claim, so subjects that are not UUIDs are revoked too
+     */
+    public void invalidateSubject(String subject) {
+        if (subject == null) {
+            return;
+        }
+        revokedSubjects.put(subject, Instant.now());
+        entries.entrySet().removeIf(e -> subject.equals(e.getValue().getSubject()));
+    }
+    
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+    
+    public void invalidateAll() {
+        evictions.add(entries.size());
+        entries.clear();
+    }
+    
+    public long getHitCount() { return hits.sum(); }
+    
+    public long getMissCount() { return misses.sum(); }
+    
+    private void makeRoom(Instant now) {
+        entries.entrySet().removeIf(e -> {
+            boolean expired = !e.getValue().isUsable(now, revokedSubjects);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        
+        // Still full: drop an arbitrary tenth, the next request simply re-verifies
+        Iterator<String> keys = entries.keySet().iterator();
+        int toDrop = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        while (toDrop-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+        
+        // Revocation markers only matter while a token cached before them could still be alive
+        Instant horizon = now.minusSeconds(maxAgeSeconds);
+        revokedSubjects.values().removeIf(revokedAt -> revokedAt.isBefore(horizon));
+    }
+    
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public static class Entry {
+        private final Authentication authentication;
+        private final EmployeeContext employeeContext;
+        private final Instant cachedAt;
+        private final Instant expiresAt;
+        
+        Entry(Authentication authentication, EmployeeContext employeeContext, Instant cachedAt, Instant expiresAt) {
+            this.authentication = authentication;
+            this.employeeContext = employeeContext;
+            this.cachedAt = cachedAt;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isUsable(Instant now, Map<String, Instant> revokedSubjects) {
+            if (!now.isBefore(expiresAt)) {
+                return false;
+            }
+            Instant revokedAt = getSubject() == null ? null : revokedSubjects.get(getSubject());
+            return revokedAt == null || cachedAt.isAfter(revokedAt);
+        }
+        
+        String getSubject() {
+            return employeeContext == null ? null : employeeContext.getSubject();
+        }
+        
+        public Authentication getAuthentication() { return authentication; }
+        
+        public EmployeeContext getEmployeeContext() { return employeeContext; }
+        
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jasiq.coreops.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in "virtual-threads" profile. application-virtual-threads.properties switches Tomcat,
+ * @Async and @Scheduled onto virtual threads (spring.threads.virtual.enabled); this class
+ * fronts the DataSource with a limiter sized to the connection pool.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+    
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                // The replica routing front end is limited through the pools behind it
+                if (bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                
+                // Matching the pool size means a permit holder never waits inside the pool
+                int permits = bean instanceof HikariDataSource
+                    ? ((HikariDataSource) bean).getMaximumPoolSize()
+                    : environment.getProperty("vt.jdbc-limiter.permits", Integer.class, 10);
+                long acquireTimeoutMs = environment.getProperty("vt.jdbc-limiter.acquire-timeout-ms", Long.class, 30000L);
+                return new ConcurrencyLimitedDataSource((DataSource) bean, permits, acquireTimeoutMs, meterRegistry.getObject());
+            }
+        };
+    }
+}
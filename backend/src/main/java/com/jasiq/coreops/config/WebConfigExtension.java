@@ -0,0 +1,21 @@
+package com.jasiq.coreops.config;
+
+import com.jasiq.coreops.auth.CurrentEmployeeArgumentResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfigExtension implements WebMvcConfigurer {
+    
+    @Autowired
+    private CurrentEmployeeArgumentResolver currentEmployeeArgumentResolver;
+    
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentEmployeeArgumentResolver);
+    }
+}
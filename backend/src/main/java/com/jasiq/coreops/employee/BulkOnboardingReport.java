@@ -0,0 +1,65 @@
+package com.jasiq.coreops.employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-row outcome of a bulk onboarding request, in input order.
+ */
+public class BulkOnboardingReport {
+    
+    public static final String CREATED = "CREATED";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String FAILED = "FAILED";
+    
+    private final List<Row> rows = new ArrayList<>();
+    private int created;
+    private int skipped;
+    private int failed;
+    
+    void add(Row row) {
+        rows.add(row);
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case SKIPPED -> skipped++;
+            default -> failed++;
+        }
+    }
+    
+    // Getters
+    public List<Row> getRows() { return rows; }
+    
+    public int getCreated() { return created; }
+    
+    public int getSkipped() { return skipped; }
+    
+    public int getFailed() { return failed; }
+    
+    public static class Row {
+        private final int index;
+        private final String email;
+        private final String status;
+        private final UUID employeeId;
+        private final String message;
+        
+        public Row(int index, String email, String status, UUID employeeId, String message) {
+            this.index = index;
+            this.email = email;
+            this.status = status;
+            this.employeeId = employeeId;
+            this.message = message;
+        }
+        
+        // Getters
+        public int getIndex() { return index; }
+        
+        public String getEmail() { return email; }
+        
+        public String getStatus() { return status; }
+        
+        public UUID getEmployeeId() { return employeeId; }
+        
+        public String getMessage() { return message; }
+    }
+}
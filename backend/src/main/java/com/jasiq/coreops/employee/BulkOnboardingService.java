@@ -0,0 +1,285 @@
+package com.jasiq.coreops.employee;
+
+import com.jasiq.coreops.auth.PasswordSetupInvite;
+import com.jasiq.coreops.auth.PasswordSetupService;
+import com.jasiq.coreops.auth.Role;
+import com.jasiq.coreops.auth.User;
+import com.jasiq.coreops.auth.UserRepository;
+import com.jasiq.coreops.common.ReferenceDataCache;
+import com.jasiq.coreops.employee.EmployeeControllerExtension.CreateEmployeeRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Onboards many employees at once: rows are validated against the table constraints up front,
+ * emails are checked in one set-based query, and the rest is inserted in batched chunks with
+ * employees, users, setup tokens and outbox invitations committed together per chunk.
+ */
+@Service
+public class BulkOnboardingService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkOnboardingService.class);
+    
+    public static final int MAX_ROWS = 1000;
+    
+    private static final int IN_CLAUSE_CHUNK = 500;
+    
+    private static final int INSERT_CHUNK = 100;
+    
+    private static final Set<String> STATUSES = Set.of("ACTIVE", "ON_HOLD", "EXITED");
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    
+    @Autowired
+    private PasswordSetupService passwordSetupService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Rows are inserted in chunks, each in its own transaction; a chunk that hits a constraint
+     * is retried row by row, so one bad row costs its own outcome rather than the whole upload.
+     * Any other failure ends the upload with a partial report: committed chunks are CREATED and
+     * the rest FAILED, so the caller can resubmit just those rows.
+     */
+    public BulkOnboardingReport onboard(List<CreateEmployeeRequest> requests) {
+        BulkOnboardingReport.Row[] outcomes = new BulkOnboardingReport.Row[requests.size()];
+        
+        // Validate rows and drop duplicates inside the upload itself
+        Set<String> seen = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateEmployeeRequest request = requests.get(i);
+            String problem = validate(request);
+            if (problem != null) {
+                outcomes[i] = new BulkOnboardingReport.Row(i, request == null ? null : request.getEmail(),
+                    BulkOnboardingReport.FAILED, null, problem);
+            } else if (!seen.add(normalizeEmail(request.getEmail()))) {
+                outcomes[i] = new BulkOnboardingReport.Row(i, request.getEmail(), BulkOnboardingReport.SKIPPED, null,
+                    "Duplicate email in upload");
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        // One set-based check against existing employees and users
+        Set<String> taken = readOnlyTransaction.execute(status -> findExistingEmails(seen));
+        
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            CreateEmployeeRequest request = requests.get(i);
+            if (taken.contains(normalizeEmail(request.getEmail()))) {
+                outcomes[i] = new BulkOnboardingReport.Row(i, request.getEmail(), BulkOnboardingReport.SKIPPED, null,
+                    "Email already in use");
+                continue;
+            }
+            accepted.add(i);
+        }
+        
+        if (!accepted.isEmpty()) {
+            // Cached id plus an unloaded reference: no role query per upload
+            UUID employeeRoleId = referenceDataCache.roleId("EMPLOYEE")
+                .orElseThrow(() -> new RuntimeException("EMPLOYEE role not found"));
+            
+            for (int from = 0; from < accepted.size(); from += INSERT_CHUNK) {
+                List<Integer> chunk = accepted.subList(from, Math.min(from + INSERT_CHUNK, accepted.size()));
+                try {
+                    try {
+                        insertChunk(requests, chunk, employeeRoleId, outcomes);
+                    } catch (DataIntegrityViolationException e) {
+                        // Something raced the pre-checks; find the offending rows one at a time
+                        for (int i : chunk) {
+                            try {
+                                insertChunk(requests, List.of(i), employeeRoleId, outcomes);
+                            } catch (DataIntegrityViolationException rowFailure) {
+                                outcomes[i] = new BulkOnboardingReport.Row(i, requests.get(i).getEmail(),
+                                    BulkOnboardingReport.FAILED, null, "Rejected by the database: " + rootMessage(rowFailure));
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // Not a row problem (connection lost, timeout): earlier chunks stay committed, so stop
+                    // here and report everything not yet created as failed rather than losing the report
+                    log.error("Bulk onboarding stopped at row {} of {}", chunk.get(0), requests.size(), e);
+                    String message = "Not onboarded, the upload stopped early: " + rootMessage(e);
+                    for (int i : accepted.subList(from, accepted.size())) {
+                        if (outcomes[i] == null) {
+                            outcomes[i] = new BulkOnboardingReport.Row(i, requests.get(i).getEmail(),
+                                BulkOnboardingReport.FAILED, null, message);
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+        
+        BulkOnboardingReport report = new BulkOnboardingReport();
+        for (BulkOnboardingReport.Row outcome : outcomes) {
+            report.add(outcome);
+        }
+        return report;
+    }
+    
+    /**
+     * Employees, users, setup tokens and outbox invitations for the given rows, in one transaction
+     */
+    private void insertChunk(List<CreateEmployeeRequest> requests, List<Integer> rows, UUID employeeRoleId,
+                             BulkOnboardingReport.Row[] outcomes) {
+        List<Employee> saved = transactionTemplate.execute(status -> {
+            List<Employee> employees = new ArrayList<>(rows.size());
+            for (int i : rows) {
+                employees.add(toEmployee(requests.get(i)));
+            }
+            employees = employeeRepository.saveAll(employees);
+            
+            Role employeeRole = roleRepository.getReferenceById(employeeRoleId);
+            List<User> users = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                User user = new User();
+                user.setEmail(employee.getEmail());
+                user.setRole(employeeRole);
+                user.setActive(false); // Inactive until password is set
+                user.setEmployeeId(employee.getId());
+                user.setPassword(null);
+                users.add(user);
+            }
+            users = userRepository.saveAll(users);
+            
+            List<PasswordSetupInvite> invites = new ArrayList<>(users.size());
+            for (int k = 0; k < users.size(); k++) {
+                Employee employee = employees.get(k);
+                String employeeName = (employee.getFirstName() + " " + employee.getLastName()).trim();
+                invites.add(new PasswordSetupInvite(users.get(k).getId(), employeeName, employee.getEmail()));
+            }
+            passwordSetupService.createPasswordSetupTokens(invites);
+            
+            // Flush through the repository so constraint violations surface here, translated, per chunk
+            userRepository.flush();
+            return employees;
+        });
+        
+        for (int k = 0; k < rows.size(); k++) {
+            int i = rows.get(k);
+            outcomes[i] = new BulkOnboardingReport.Row(i, requests.get(i).getEmail(), BulkOnboardingReport.CREATED,
+                saved.get(k).getId(), null);
+        }
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+    
+    private Set<String> findExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>();
+        List<String> all = new ArrayList<>(emails);
+        
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = all.subList(from, Math.min(from + IN_CLAUSE_CHUNK, all.size()));
+            existing.addAll(entityManager
+                .createQuery("SELECT LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails", String.class)
+                .setParameter("emails", chunk)
+                .getResultList());
+            existing.addAll(entityManager
+                .createQuery("SELECT LOWER(e.email) FROM Employee e WHERE LOWER(e.email) IN :emails", String.class)
+                .setParameter("emails", chunk)
+                .getResultList());
+        }
+        
+        return existing;
+    }
+    
+    private String validate(CreateEmployeeRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        if (isBlank(request.getFirstName()) || isBlank(request.getLastName())) {
+            return "First name and last name are required";
+        }
+        if (isBlank(request.getEmail()) || !request.getEmail().contains("@")) {
+            return "A valid email is required";
+        }
+        // Mirror the employee table's CHECK constraints so they become row outcomes, not failures
+        if (request.getStatus() != null && !STATUSES.contains(request.getStatus())) {
+            return "status must be one of ACTIVE, ON_HOLD, EXITED";
+        }
+        if ("COMPANY".equals(request.getScope())) {
+            if (request.getPrimaryDivisionId() != null) {
+                return "COMPANY scope employees have no primary division";
+            }
+        } else if ("DIVISION".equals(request.getScope())) {
+            if (request.getPrimaryDivisionId() == null) {
+                return "DIVISION scope employees need a primaryDivisionId";
+            }
+            if (referenceDataCache.division(request.getPrimaryDivisionId()).isEmpty()) {
+                return "Unknown primary division";
+            }
+        } else {
+            return "scope must be COMPANY or DIVISION";
+        }
+        return null;
+    }
+    
+    private Employee toEmployee(CreateEmployeeRequest request) {
+        Employee employee = new Employee();
+        employee.setFirstName(request.getFirstName().trim());
+        employee.setLastName(request.getLastName().trim());
+        employee.setEmail(request.getEmail().trim());
+        employee.setPhone(request.getPhone());
+        employee.setDesignation(request.getDesignation());
+        employee.setReportingManager(request.getReportingManager());
+        employee.setScope(request.getScope());
+        employee.setPrimaryDivisionId(request.getPrimaryDivisionId());
+        employee.setStatus(request.getStatus() != null ? request.getStatus() : "ACTIVE");
+        return employee;
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,25 +1,58 @@
 package com.jasiq.coreops.employee;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jasiq.coreops.auth.CurrentEmployee;
+import com.jasiq.coreops.auth.EmployeeContext;
 import com.jasiq.coreops.auth.PasswordSetupService;
 import com.jasiq.coreops.auth.UserRepository;
+import com.jasiq.coreops.common.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/employees")
 public class EmployeeControllerExtension {
     
+    // Generous for MAX_ROWS rows; bounds what is buffered before the row count can be checked
+    private static final int MAX_UPLOAD_BYTES = 2 * 1024 * 1024;
+    
+    private static final TypeReference<List<CreateEmployeeRequest>> CREATE_REQUESTS_TYPE = new TypeReference<>() {};
+    
+    private static final String EMPLOYEE_VERSION_SQL =
+        "SELECT version, updated_at FROM employee WHERE id = ?";
+    
     @Autowired
     private EmployeeServiceExtension employeeServiceExtension;
     
     @Autowired
     private EmployeeRepository employeeRepository;
     
+    @Autowired
+    private EmployeeViewRepository employeeViewRepository;
+    
+    @Autowired
+    private BulkOnboardingService bulkOnboardingService;
+    
+    @Autowired
+    private ConditionalGet conditionalGet;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Override or extend existing employee creation to trigger user account creation
      */
@@ -52,24 +85,87 @@ public class EmployeeControllerExtension {
     }
     
     /**
-     * Self-scoped endpoint for employees to get their own data
+     * Bulk onboarding from a JSON array; returns a per-row report
      */
-    @GetMapping("/me")
-    @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> getMyEmployeeData() {
-        // Get employee ID from security context (JWT)
-        UUID employeeId = getCurrentEmployeeId();
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('EMPLOYEE_WRITE', 'ADMIN')")
+    public ResponseEntity<?> bulkCreateEmployees(HttpServletRequest request) throws IOException {
+        byte[] body = readUpload(request);
+        if (body == null) {
+            return uploadTooLarge();
+        }
         
-        Employee employee = employeeRepository.findById(employeeId)
-            .orElseThrow(() -> new RuntimeException("Employee not found"));
+        List<CreateEmployeeRequest> requests;
+        try {
+            requests = objectMapper.readValue(body, CREATE_REQUESTS_TYPE);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body("Malformed JSON: " + e.getOriginalMessage());
+        }
+        return onboard(requests);
+    }
+    
+    /**
+     * Bulk onboarding from a CSV upload with a header row
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasAnyAuthority('EMPLOYEE_WRITE', 'ADMIN')")
+    public ResponseEntity<?> bulkCreateEmployeesFromCsv(HttpServletRequest request) throws IOException {
+        byte[] body = readUpload(request);
+        if (body == null) {
+            return uploadTooLarge();
+        }
         
-        return ResponseEntity.ok(employee);
+        List<CreateEmployeeRequest> requests;
+        try {
+            requests = EmployeeCsvParser.parse(new String(body, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        
+        return onboard(requests);
+    }
+    
+    private ResponseEntity<?> onboard(List<CreateEmployeeRequest> requests) {
+        if (requests == null) {
+            return ResponseEntity.badRequest().body("Expected a JSON array of employees");
+        }
+        if (requests.size() > BulkOnboardingService.MAX_ROWS) {
+            return ResponseEntity.badRequest().body("At most " + BulkOnboardingService.MAX_ROWS + " employees per upload");
+        }
+        
+        return ResponseEntity.ok(bulkOnboardingService.onboard(requests));
     }
     
-    private UUID getCurrentEmployeeId() {
-        // This should be extracted from JWT token in security context
-        // Implementation depends on your JWT setup
-        return UUID.fromString("current-employee-id-from-jwt"); // Placeholder
+    /**
+     * Read the body up to MAX_UPLOAD_BYTES; null when it is larger, without buffering the rest
+     */
+    private static byte[] readUpload(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_UPLOAD_BYTES) {
+            return null;
+        }
+        try (InputStream in = request.getInputStream()) {
+            byte[] body = in.readNBytes(MAX_UPLOAD_BYTES + 1);
+            return body.length > MAX_UPLOAD_BYTES ? null : body;
+        }
+    }
+    
+    private static ResponseEntity<?> uploadTooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+            .body("Upload exceeds " + (MAX_UPLOAD_BYTES / 1024) + " KiB");
+    }
+    
+    /**
+     * Self-scoped endpoint for employees to get their own data
+     */
+    @GetMapping("/me")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<?> getMyEmployeeData(@CurrentEmployee EmployeeContext currentEmployee, HttpServletRequest request) {
+        UUID employeeId = currentEmployee.getEmployeeId();
+        
+        // 304 on an unchanged row version, without loading the entity
+        return conditionalGet.respond(request, "employee-me", employeeId, EMPLOYEE_VERSION_SQL, new Object[] { employeeId },
+            () -> employeeViewRepository.findViewById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found")));
     }
     
     public static class CreateEmployeeRequest {
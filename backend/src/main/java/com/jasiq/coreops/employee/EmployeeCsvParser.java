@@ -0,0 +1,118 @@
+package com.jasiq.coreops.employee;
+
+import com.jasiq.coreops.employee.EmployeeControllerExtension.CreateEmployeeRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Parses a bulk onboarding CSV upload. The first line is a header naming the
+ * {@link CreateEmployeeRequest} fields, in camelCase or snake_case.
+ */
+final class EmployeeCsvParser {
+    
+    private EmployeeCsvParser() {}
+    
+    static List<CreateEmployeeRequest> parse(String csv) {
+        List<List<String>> lines = readRecords(csv);
+        if (lines.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = lines.get(0);
+        for (int c = 0; c < header.size(); c++) {
+            columns.put(header.get(c).replace("_", "").trim().toLowerCase(Locale.ROOT), c);
+        }
+        
+        List<CreateEmployeeRequest> requests = new ArrayList<>(lines.size() - 1);
+        for (int r = 1; r < lines.size(); r++) {
+            List<String> line = lines.get(r);
+            CreateEmployeeRequest request = new CreateEmployeeRequest();
+            request.setFirstName(value(line, columns, "firstname"));
+            request.setLastName(value(line, columns, "lastname"));
+            request.setEmail(value(line, columns, "email"));
+            request.setPhone(value(line, columns, "phone"));
+            request.setDesignation(value(line, columns, "designation"));
+            request.setReportingManager(value(line, columns, "reportingmanager"));
+            request.setScope(value(line, columns, "scope"));
+            request.setStatus(value(line, columns, "status"));
+            
+            String divisionId = value(line, columns, "primarydivisionid");
+            if (divisionId != null) {
+                try {
+                    request.setPrimaryDivisionId(UUID.fromString(divisionId));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid primaryDivisionId on line " + (r + 1));
+                }
+            }
+            requests.add(request);
+        }
+        return requests;
+    }
+    
+    private static String value(List<String> line, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= line.size()) {
+            return null;
+        }
+        String value = line.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    /**
+     * RFC 4180 records: quoted fields may contain commas, newlines and doubled quotes
+     */
+    private static List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < csv.length(); i++) {
+            char ch = csv.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                addIfNotBlank(records, record);
+                record = new ArrayList<>();
+            } else {
+                field.append(ch);
+            }
+        }
+        record.add(field.toString());
+        addIfNotBlank(records, record);
+        
+        return records;
+    }
+    
+    private static void addIfNotBlank(List<List<String>> records, List<String> record) {
+        for (String value : record) {
+            if (!value.isBlank()) {
+                records.add(record);
+                return;
+            }
+        }
+    }
+}
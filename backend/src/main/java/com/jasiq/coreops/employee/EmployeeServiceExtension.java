@@ -4,6 +4,7 @@ import com.jasiq.coreops.auth.PasswordSetupService;
 import com.jasiq.coreops.auth.User;
 import com.jasiq.coreops.auth.UserRepository;
 import com.jasiq.coreops.auth.Role;
+import com.jasiq.coreops.common.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,9 @@ public class EmployeeServiceExtension {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    
     /**
      * Extension method to create user account after employee creation
      * This should be called AFTER employee is saved
@@ -39,8 +43,9 @@ public class EmployeeServiceExtension {
             return; // User already exists, skip
         }
         
-        // Get EMPLOYEE role
-        Role employeeRole = roleRepository.findByName("EMPLOYEE")
+        // EMPLOYEE role from the reference cache, as an unloaded reference: no role query per onboarding
+        Role employeeRole = referenceDataCache.roleId("EMPLOYEE")
+            .map(roleRepository::getReferenceById)
             .orElseThrow(() -> new RuntimeException("EMPLOYEE role not found"));
         
         // Create inactive user account
@@ -0,0 +1,51 @@
+package com.jasiq.coreops.employee;
+
+import java.util.UUID;
+
+/**
+ * Read model for an employee's own profile
+ */
+public class EmployeeView {
+    
+    private final UUID id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+    private final String designation;
+    private final String scope;
+    private final UUID primaryDivisionId;
+    private final String status;
+    
+    public EmployeeView(UUID id, String firstName, String lastName, String email, String phone, String designation,
+                        String scope, UUID primaryDivisionId, String status) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.designation = designation;
+        this.scope = scope;
+        this.primaryDivisionId = primaryDivisionId;
+        this.status = status;
+    }
+    
+    // Getters
+    public UUID getId() { return id; }
+    
+    public String getFirstName() { return firstName; }
+    
+    public String getLastName() { return lastName; }
+    
+    public String getEmail() { return email; }
+    
+    public String getPhone() { return phone; }
+    
+    public String getDesignation() { return designation; }
+    
+    public String getScope() { return scope; }
+    
+    public UUID getPrimaryDivisionId() { return primaryDivisionId; }
+    
+    public String getStatus() { return status; }
+}
@@ -0,0 +1,15 @@
+package com.jasiq.coreops.employee;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@org.springframework.stereotype.Repository
+public interface EmployeeViewRepository extends org.springframework.data.repository.Repository<Employee, UUID> {
+    
+    @Query("SELECT new com.jasiq.coreops.employee.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.phone, " +
+           "e.designation, e.scope, e.primaryDivisionId, e.status) FROM Employee e WHERE e.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") UUID id);
+}
@@ -0,0 +1,101 @@
+package com.jasiq.coreops.leave;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable interval index: intervals sorted by start plus a running maximum of ends.
+ * Because every interval at or before position i starts no later than interval i, a range
+ * [from, to] overlaps something iff the running max end of the last interval starting on or
+ * before "to" reaches "from" - one binary search, O(log n). Listing overlaps walks back from
+ * there. Writers build a new index (copy-on-write), so readers never lock.
+ */
+final class IntervalIndex {
+    
+    static final IntervalIndex EMPTY = new IntervalIndex(new LeaveInterval[0]);
+    
+    private static final Comparator<LeaveInterval> BY_START = Comparator.comparing(LeaveInterval::getStart);
+    
+    private final LeaveInterval[] intervals;
+    private final long[] starts;
+    private final long[] maxEnds;
+    
+    private IntervalIndex(LeaveInterval[] sorted) {
+        this.intervals = sorted;
+        this.starts = new long[sorted.length];
+        this.maxEnds = new long[sorted.length];
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < sorted.length; i++) {
+            starts[i] = sorted[i].getStart().toEpochDay();
+            maxEnd = Math.max(maxEnd, sorted[i].getEnd().toEpochDay());
+            maxEnds[i] = maxEnd;
+        }
+    }
+    
+    static IntervalIndex of(List<LeaveInterval> intervals) {
+        LeaveInterval[] sorted = intervals.toArray(new LeaveInterval[0]);
+        Arrays.sort(sorted, BY_START);
+        return new IntervalIndex(sorted);
+    }
+    
+    boolean overlaps(LocalDate from, LocalDate to) {
+        int last = lastStartingOnOrBefore(to.toEpochDay());
+        return last >= 0 && maxEnds[last] >= from.toEpochDay();
+    }
+    
+    List<LeaveInterval> overlapping(LocalDate from, LocalDate to) {
+        List<LeaveInterval> result = new ArrayList<>();
+        long fromDay = from.toEpochDay();
+        // Stop once nothing further left can reach "from"
+        for (int i = lastStartingOnOrBefore(to.toEpochDay()); i >= 0 && maxEnds[i] >= fromDay; i--) {
+            if (intervals[i].getEnd().toEpochDay() >= fromDay) {
+                result.add(intervals[i]);
+            }
+        }
+        return result;
+    }
+    
+    IntervalIndex with(LeaveInterval interval) {
+        long start = interval.getStart().toEpochDay();
+        int at = lastStartingOnOrBefore(start) + 1;
+        LeaveInterval[] next = new LeaveInterval[intervals.length + 1];
+        System.arraycopy(intervals, 0, next, 0, at);
+        next[at] = interval;
+        System.arraycopy(intervals, at, next, at + 1, intervals.length - at);
+        return new IntervalIndex(next);
+    }
+    
+    IntervalIndex without(UUID id) {
+        List<LeaveInterval> kept = new ArrayList<>(intervals.length);
+        for (LeaveInterval interval : intervals) {
+            if (!id.equals(interval.getId())) {
+                kept.add(interval);
+            }
+        }
+        return kept.size() == intervals.length ? this : new IntervalIndex(kept.toArray(new LeaveInterval[0]));
+    }
+    
+    int size() {
+        return intervals.length;
+    }
+    
+    private int lastStartingOnOrBefore(long day) {
+        int low = 0;
+        int high = starts.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= day) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,180 @@
+package com.jasiq.coreops.leave;
+
+import com.jasiq.coreops.common.BoundedCache;
+import com.jasiq.coreops.common.PgNotificationListener;
+import com.jasiq.coreops.common.ReplicaRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-through cache of leave balances keyed by (employee, year).
+ * Entries are dropped on {@link LeaveBalanceChangedEvent}; when pg.notify is enabled the
+ * leave_balance trigger (V111) fans changes made by any node or service out as events too.
+ * The TTL only bounds staleness if a notification is ever missed. Each entry carries the version
+ * of the rows it was loaded from, so conditional GETs are tagged from the cache and only touch
+ * the database on a miss.
+ */
+@Component
+public class LeaveBalanceCache {
+    
+    static final String NOTIFY_CHANNEL = "leave_balance_changed";
+    
+    // Walks idx_leave_balance_employee_year
+    private static final String BALANCE_QUERY =
+        "SELECT lb FROM LeaveBalance lb WHERE lb.employeeId = :employeeId AND lb.year = :year";
+    
+    // Read before the rows: a write in between leaves the version older, and its notification drops the entry
+    private static final String VERSION_SQL =
+        "SELECT COUNT(*), MAX(updated_at), COALESCE(SUM(version), 0) FROM leave_balance WHERE employee_id = ?1 AND year = ?2";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ObjectProvider<PgNotificationListener> notificationListener;
+    
+    @Value("${leave.balance-cache.max-entries:20000}")
+    private int maxEntries;
+    
+    @Value("${leave.balance-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    private BoundedCache<Key, VersionedBalance> cache;
+    
+    @PostConstruct
+    void init() {
+        cache = new BoundedCache<>("leave.balance.cache", maxEntries, Duration.ofSeconds(ttlSeconds), meterRegistry);
+        
+        notificationListener.ifAvailable(listener -> {
+            listener.subscribe(NOTIFY_CHANNEL, payload -> eventPublisher.publishEvent(parsePayload(payload)));
+            // Notifications sent while disconnected are lost
+            listener.onReconnect(() -> cache.invalidateAll());
+        });
+    }
+    
+    public LeaveBalance getCurrentYear(UUID employeeId) {
+        return get(employeeId, LocalDate.now().getYear());
+    }
+    
+    public LeaveBalance get(UUID employeeId, int year) {
+        return getVersioned(employeeId, year).getBalance();
+    }
+    
+    /**
+     * Cached balance together with the version it was loaded under, for building an ETag
+     */
+    public VersionedBalance getVersioned(UUID employeeId, int year) {
+        return cache.get(new Key(employeeId, year), this::loadVersioned);
+    }
+    
+    // Filled from the primary: a lagging replica could re-cache the row a notification just invalidated
+    private VersionedBalance loadVersioned(Key key) {
+        return ReplicaRouting.onPrimary(() -> {
+            Object[] version = (Object[]) entityManager.createNativeQuery(VERSION_SQL)
+                .setParameter(1, key.employeeId)
+                .setParameter(2, key.year)
+                .getSingleResult();
+            return new VersionedBalance(load(key), Arrays.toString(version));
+        });
+    }
+    
+    private LeaveBalance load(Key key) {
+        return entityManager.createQuery(BALANCE_QUERY, LeaveBalance.class)
+            .setParameter("employeeId", key.employeeId)
+            .setParameter("year", key.year)
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst()
+            .orElse(new LeaveBalance());
+    }
+    
+    // fallbackExecution: events raised outside a transaction (e.g. from NOTIFY) apply immediately
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveBalanceChanged(LeaveBalanceChangedEvent event) {
+        if (event.getEmployeeId() == null) {
+            if (event.getYear() == null) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidateIf(key -> key.year == event.getYear());
+            }
+        } else if (event.getYear() == null) {
+            cache.invalidateIf(key -> key.employeeId.equals(event.getEmployeeId()));
+        } else {
+            cache.invalidate(new Key(event.getEmployeeId(), event.getYear()));
+        }
+    }
+    
+    /**
+     * Payload is "employeeId:year", or "*" for a bulk change
+     */
+    static LeaveBalanceChangedEvent parsePayload(String payload) {
+        int colon = payload == null ? -1 : payload.indexOf(':');
+        if (colon < 0) {
+            return LeaveBalanceChangedEvent.all();
+        }
+        try {
+            return new LeaveBalanceChangedEvent(UUID.fromString(payload.substring(0, colon)),
+                Integer.valueOf(payload.substring(colon + 1)));
+        } catch (IllegalArgumentException e) {
+            return LeaveBalanceChangedEvent.all();
+        }
+    }
+    
+    public static final class VersionedBalance {
+        private final LeaveBalance balance;
+        private final String version;
+        
+        VersionedBalance(LeaveBalance balance, String version) {
+            this.balance = balance;
+            this.version = version;
+        }
+        
+        // Getters
+        public LeaveBalance getBalance() { return balance; }
+        
+        public String getVersion() { return version; }
+    }
+    
+    private static final class Key {
+        private final UUID employeeId;
+        private final int year;
+        
+        Key(UUID employeeId, int year) {
+            this.employeeId = employeeId;
+            this.year = year;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return year == other.year && employeeId.equals(other.employeeId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, year);
+        }
+    }
+}
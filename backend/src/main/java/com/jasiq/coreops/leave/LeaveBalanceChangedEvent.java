@@ -0,0 +1,26 @@
+package com.jasiq.coreops.leave;
+
+import java.util.UUID;
+
+/**
+ * Published when leave balances change, e.g. on leave approval or month close.
+ * A null employeeId means every employee (bulk accrual); a null year means every year.
+ */
+public class LeaveBalanceChangedEvent {
+    
+    private final UUID employeeId;
+    private final Integer year;
+    
+    public LeaveBalanceChangedEvent(UUID employeeId, Integer year) {
+        this.employeeId = employeeId;
+        this.year = year;
+    }
+    
+    public static LeaveBalanceChangedEvent all() {
+        return new LeaveBalanceChangedEvent(null, null);
+    }
+    
+    public UUID getEmployeeId() { return employeeId; }
+    
+    public Integer getYear() { return year; }
+}
@@ -1,35 +1,94 @@
 package com.jasiq.coreops.leave;
 
-import com.jasiq.coreops.auth.User;
+import com.jasiq.coreops.auth.CurrentEmployee;
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.common.ConditionalGet;
+import com.jasiq.coreops.common.HistoryExporter;
+import com.jasiq.coreops.common.KeysetPager;
+import com.jasiq.coreops.common.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/leave")
 public class LeaveControllerExtension {
     
+    private static final String EXPORT_SQL =
+        "SELECT id, leave_type_id, start_date, end_date, unit, half_day_part, units, reason, status, " +
+        "approved_l1_at, approved_l2_at, rejected_at, rejection_reason, cancelled_at, created_at, updated_at " +
+        "FROM leave_request WHERE employee_id = ? ORDER BY created_at, id";
+    
     @Autowired
     private LeaveRequestRepository leaveRequestRepository;
     
     @Autowired
-    private LeaveBalanceRepository leaveBalanceRepository;
+    private LeaveRequestViewRepository leaveRequestViewRepository;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    @Autowired
+    private HistoryExporter historyExporter;
+    
+    @Autowired
+    private LeaveBalanceCache leaveBalanceCache;
+    
+    @Autowired
+    private LeaveOverlapIndex leaveOverlapIndex;
+    
+    @Autowired
+    private ConditionalGet conditionalGet;
+    
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
     
     /**
      * Self-scoped endpoint: Get current employee's leave requests
+     * Offset paging by default; keyset paging when a cursor param is present
      */
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> getMyLeaveRequests(Pageable pageable) {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> getMyLeaveRequests(@CurrentEmployee EmployeeContext employee, Pageable pageable,
+                                                @RequestParam(required = false) String cursor) {
+        UUID employeeId = employee.getEmployeeId();
+        
+        // Opt-in keyset mode: "?cursor=" for the first page, then the returned nextCursor
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(keysetPager.fetch(LeaveRequest.class, "createdAt", employeeId, cursor, pageable.getPageSize(),
+                    LeaveRequest::getCreatedAt, LeaveRequest::getId, Instant::parse).map(LeaveRequestView::from));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         
-        Page<LeaveRequest> leaveRequests = leaveRequestRepository.findByEmployeeIdOrderByCreatedAtDesc(employeeId, pageable);
+        Page<LeaveRequestView> leaveRequests = leaveRequestViewRepository.findViewsByEmployeeId(employeeId, pageable);
         
         return ResponseEntity.ok(leaveRequests);
     }
@@ -39,13 +98,14 @@ public class LeaveControllerExtension {
      */
     @GetMapping("/balance/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> getMyLeaveBalance() {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> getMyLeaveBalance(@CurrentEmployee EmployeeContext employee, HttpServletRequest request) {
+        UUID employeeId = employee.getEmployeeId();
+        int year = LocalDate.now().getYear();
         
-        LeaveBalance leaveBalance = leaveBalanceRepository.findByEmployeeId(employeeId)
-            .orElse(new LeaveBalance());
-        
-        return ResponseEntity.ok(leaveBalance);
+        // Tagged with the version the entry was cached under; the database is only read on a miss
+        LeaveBalanceCache.VersionedBalance balance = leaveBalanceCache.getVersioned(employeeId, year);
+        return conditionalGet.respondTagged(request, "leave-balance-me", employeeId + ":" + year,
+            balance.getVersion(), balance::getBalance);
     }
     
     /**
@@ -53,20 +113,122 @@ public class LeaveControllerExtension {
      */
     @PostMapping("/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> applyForLeave(@RequestBody LeaveRequest request) {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> applyForLeave(@CurrentEmployee EmployeeContext employee, @RequestBody LeaveRequest request) {
+        UUID employeeId = employee.getEmployeeId();
+        
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        if (start == null || end == null || end.isBefore(start)) {
+            return ResponseEntity.badRequest().body("startDate and endDate are required and endDate must not be before startDate");
+        }
+        if (!referenceDataCache.isActiveLeaveType(request.getLeaveTypeId())) {
+            return ResponseEntity.badRequest().body("Unknown or inactive leave type");
+        }
+        
+        // Fast path against the in-memory index; the range stays reserved on this node until saved
+        UUID reservationId = UUID.randomUUID();
+        List<LeaveInterval> conflicts = leaveOverlapIndex.reserve(employeeId, reservationId, start, end);
+        if (!conflicts.isEmpty()) {
+            // The index may still hold leave cancelled on another node: reload it once before refusing
+            leaveOverlapIndex.invalidateEmployee(employeeId);
+            conflicts = leaveOverlapIndex.reserve(employeeId, reservationId, start, end);
+            if (!conflicts.isEmpty()) {
+                return overlapConflict(conflicts);
+            }
+        }
         
         request.setEmployeeId(employeeId);
-        request.setStatus("PENDING");
+        request.setStatus("PENDING_L1");
         
-        request = leaveRequestRepository.save(request);
+        // Authoritative check and insert in one transaction, under the employee row lock
+        LeaveRequest[] saved = new LeaveRequest[1];
+        List<LeaveInterval> stored;
+        try {
+            stored = transactionTemplate.execute(status -> {
+                List<LeaveInterval> found = leaveOverlapIndex.lockAndFindStoredConflicts(employeeId, start, end);
+                if (found.isEmpty()) {
+                    saved[0] = leaveRequestRepository.save(request);
+                }
+                return found;
+            });
+        } catch (RuntimeException e) {
+            leaveOverlapIndex.release(employeeId, reservationId);
+            throw e;
+        }
+        if (!stored.isEmpty()) {
+            // Another node booked these dates; this node's index is stale
+            leaveOverlapIndex.invalidateEmployee(employeeId);
+            return overlapConflict(stored);
+        }
+        leaveOverlapIndex.confirm(employeeId, reservationId, saved[0].getId(), start, end);
+        
+        return ResponseEntity.ok(saved[0]);
+    }
+    
+    private static ResponseEntity<?> overlapConflict(List<LeaveInterval> conflicts) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(Map.of("message", "Requested dates overlap existing leave or attendance", "conflicts", conflicts));
+    }
+    
+    /**
+     * Team endpoint: How many people in a division are on approved leave between two dates
+     * Defaults to the caller's division; company-scope managers may name another
+     */
+    @GetMapping("/division/off")
+    @PreAuthorize("hasAnyAuthority('LEAVE_APPROVE_TEAM', 'ADMIN')")
+    public ResponseEntity<?> getDivisionAbsence(@CurrentEmployee EmployeeContext employee,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) UUID divisionId) {
+        UUID ownDivisionId = employee.getPrimaryDivisionId();
+        if (divisionId == null) {
+            divisionId = ownDivisionId;
+        }
+        if (divisionId == null) {
+            return ResponseEntity.badRequest().body("divisionId is required");
+        }
+        if (!divisionId.equals(ownDivisionId) && !"COMPANY".equals(employee.getScope())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to view another division");
+        }
+        if (referenceDataCache.division(divisionId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Division not found");
+        }
         
-        return ResponseEntity.ok(request);
+        try {
+            return ResponseEntity.ok(leaveOverlapIndex.divisionAbsence(divisionId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * Self-scoped endpoint: Stream the full leave request history as NDJSON or CSV
+     */
+    @GetMapping("/me/export")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<?> exportMyLeaveRequests(@CurrentEmployee EmployeeContext employee,
+                                                   @RequestParam(defaultValue = "ndjson") String format,
+                                                   @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportLeaveRequests(employee.getEmployeeId(), format, gzip);
+    }
+    
+    /**
+     * Compliance export of any employee's leave request history
+     */
+    @GetMapping("/{employeeId}/export")
+    @PreAuthorize("hasAnyAuthority('GOV_AUDIT_EXPORT', 'ADMIN')")
+    public ResponseEntity<?> exportEmployeeLeaveRequests(@PathVariable UUID employeeId,
+                                                         @RequestParam(defaultValue = "ndjson") String format,
+                                                         @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportLeaveRequests(employeeId, format, gzip);
     }
     
-    private UUID getCurrentEmployeeId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
-        return user.getEmployeeId();
+    private ResponseEntity<?> exportLeaveRequests(UUID employeeId, String format, boolean gzip) {
+        try {
+            return historyExporter.export(EXPORT_SQL, new Object[] { employeeId }, format, gzip,
+                "leave-requests-" + employeeId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.jasiq.coreops.leave;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Inclusive date range an employee is booked for: a leave request or a run of attended days
+ */
+public class LeaveInterval {
+    
+    public static final String LEAVE = "LEAVE";
+    public static final String ATTENDANCE = "ATTENDANCE";
+    
+    private final UUID id;
+    private final UUID employeeId;
+    private final LocalDate start;
+    private final LocalDate end;
+    private final String kind;
+    
+    public LeaveInterval(UUID id, UUID employeeId, LocalDate start, LocalDate end, String kind) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.start = start;
+        this.end = end;
+        this.kind = kind;
+    }
+    
+    // Getters
+    public UUID getId() { return id; }
+    
+    public UUID getEmployeeId() { return employeeId; }
+    
+    public LocalDate getStart() { return start; }
+    
+    public LocalDate getEnd() { return end; }
+    
+    public String getKind() { return kind; }
+}
@@ -0,0 +1,332 @@
+package com.jasiq.coreops.leave;
+
+import com.jasiq.coreops.common.BoundedCache;
+import com.jasiq.coreops.common.PgNotificationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory interval indexes answering "is this employee already booked for these dates?"
+ * and "who in this division is off?" without range queries on every apply.
+ * Employee indexes hold active leave and recently attended days; division indexes hold
+ * approved leave inside a rolling window. Both are loaded lazily, updated in place on writes
+ * made through this service and dropped on leave_request notifications (V112) or expiry.
+ * The employee index is only a fast path: it can miss other nodes' writes, so apply confirms
+ * with {@link #lockAndFindStoredConflicts} before saving.
+ */
+@Component
+public class LeaveOverlapIndex {
+    
+    public static final int MAX_DIVISION_RANGE_DAYS = 92;
+    
+    static final String NOTIFY_CHANNEL = "leave_request_changed";
+    
+    // Requests that hold their dates (V50 statuses); DRAFT, REJECTED and CANCELLED free them
+    private static final String ACTIVE_STATUSES = "('PENDING_L1', 'PENDING_L2', 'APPROVED')";
+    
+    private static final String EMPLOYEE_LEAVE_SQL =
+        "SELECT id, start_date, end_date FROM leave_request " +
+        "WHERE employee_id = ? AND status IN " + ACTIVE_STATUSES;
+    
+    // Serializes applies of one employee across nodes for the rest of the transaction
+    private static final String LOCK_EMPLOYEE_SQL =
+        "SELECT id FROM employee WHERE id = ? FOR UPDATE";
+    
+    private static final String STORED_LEAVE_CONFLICTS_SQL =
+        "SELECT id, start_date, end_date FROM leave_request " +
+        "WHERE employee_id = ? AND status IN " + ACTIVE_STATUSES + " AND start_date <= ? AND end_date >= ?";
+    
+    private static final String STORED_ATTENDANCE_CONFLICTS_SQL =
+        "SELECT attendance_date FROM attendance_record " +
+        "WHERE employee_id = ? AND status = 'PRESENT' AND attendance_date BETWEEN ? AND ? ORDER BY attendance_date";
+    
+    private static final String EMPLOYEE_ATTENDANCE_SQL =
+        "SELECT attendance_date FROM attendance_record " +
+        "WHERE employee_id = ? AND status = 'PRESENT' AND attendance_date >= ? ORDER BY attendance_date";
+    
+    private static final String DIVISION_LEAVE_SQL =
+        "SELECT lr.id, lr.employee_id, lr.start_date, lr.end_date FROM leave_request lr " +
+        "JOIN employee e ON e.id = lr.employee_id " +
+        "WHERE e.primary_division_id = ? AND lr.status = 'APPROVED' AND lr.end_date >= ? AND lr.start_date <= ?";
+    
+    private static final int LOCK_STRIPES = 64;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectProvider<PgNotificationListener> notificationListener;
+    
+    @Value("${leave.overlap-index.max-employees:20000}")
+    private int maxEmployees;
+    
+    @Value("${leave.overlap-index.max-divisions:500}")
+    private int maxDivisions;
+    
+    @Value("${leave.overlap-index.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    @Value("${leave.overlap-index.attendance-lookback-days:400}")
+    private int attendanceLookbackDays;
+    
+    @Value("${leave.overlap-index.division-window-past-days:92}")
+    private int divisionWindowPastDays;
+    
+    @Value("${leave.overlap-index.division-window-ahead-days:366}")
+    private int divisionWindowAheadDays;
+    
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    
+    private BoundedCache<UUID, IntervalIndex> employees;
+    private BoundedCache<UUID, DivisionWindow> divisions;
+    
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        employees = new BoundedCache<>("leave.overlap.employee.cache", maxEmployees, ttl, meterRegistry);
+        divisions = new BoundedCache<>("leave.overlap.division.cache", maxDivisions, ttl, meterRegistry);
+        
+        notificationListener.ifAvailable(listener -> {
+            listener.subscribe(NOTIFY_CHANNEL, this::onLeaveRequestChanged);
+            listener.onReconnect(() -> {
+                employees.invalidateAll();
+                divisions.invalidateAll();
+            });
+        });
+    }
+    
+    public List<LeaveInterval> findConflicts(UUID employeeId, LocalDate start, LocalDate end) {
+        IntervalIndex index = employees.get(employeeId, this::loadEmployee);
+        return index.overlaps(start, end) ? index.overlapping(start, end) : List.of();
+    }
+    
+    /**
+     * Atomically checks [start, end] and, when free, books it under reservationId so a
+     * concurrent apply on this node sees it. Returns the conflicts; empty means reserved.
+     */
+    public List<LeaveInterval> reserve(UUID employeeId, UUID reservationId, LocalDate start, LocalDate end) {
+        synchronized (lockFor(employeeId)) {
+            IntervalIndex index = employees.get(employeeId, this::loadEmployee);
+            if (index.overlaps(start, end)) {
+                return index.overlapping(start, end);
+            }
+            employees.put(employeeId, index.with(new LeaveInterval(reservationId, employeeId, start, end, LeaveInterval.LEAVE)));
+            return List.of();
+        }
+    }
+    
+    /**
+     * Swap a reservation for the saved leave request id
+     */
+    public void confirm(UUID employeeId, UUID reservationId, UUID leaveRequestId, LocalDate start, LocalDate end) {
+        synchronized (lockFor(employeeId)) {
+            IntervalIndex index = employees.getIfPresent(employeeId);
+            if (index != null) {
+                employees.put(employeeId, index.without(reservationId)
+                    .with(new LeaveInterval(leaveRequestId, employeeId, start, end, LeaveInterval.LEAVE)));
+            }
+        }
+    }
+    
+    /**
+     * Authoritative overlap check against the database. Must run inside the transaction that saves
+     * the request: the employee row stays locked until commit, so two applies on different nodes
+     * cannot both pass. Returns the conflicts; empty means the range is free.
+     */
+    public List<LeaveInterval> lockAndFindStoredConflicts(UUID employeeId, LocalDate start, LocalDate end) {
+        jdbcTemplate.query(LOCK_EMPLOYEE_SQL, (RowCallbackHandler) rs -> { }, employeeId);
+        
+        List<LeaveInterval> conflicts = new ArrayList<>();
+        jdbcTemplate.query(STORED_LEAVE_CONFLICTS_SQL, (RowCallbackHandler) rs -> {
+            conflicts.add(new LeaveInterval(rs.getObject("id", UUID.class), employeeId,
+                rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(), LeaveInterval.LEAVE));
+        }, employeeId, Date.valueOf(end), Date.valueOf(start));
+        jdbcTemplate.query(STORED_ATTENDANCE_CONFLICTS_SQL, (RowCallbackHandler) rs -> {
+            LocalDate day = rs.getDate("attendance_date").toLocalDate();
+            conflicts.add(new LeaveInterval(null, employeeId, day, day, LeaveInterval.ATTENDANCE));
+        }, employeeId, Date.valueOf(start), Date.valueOf(end));
+        return conflicts;
+    }
+    
+    public void release(UUID employeeId, UUID reservationId) {
+        synchronized (lockFor(employeeId)) {
+            IntervalIndex index = employees.getIfPresent(employeeId);
+            if (index != null) {
+                employees.put(employeeId, index.without(reservationId));
+            }
+        }
+    }
+    
+    public void recordAttendance(UUID employeeId, LocalDate date) {
+        synchronized (lockFor(employeeId)) {
+            IntervalIndex index = employees.getIfPresent(employeeId);
+            if (index != null && !index.overlaps(date, date)) {
+                employees.put(employeeId, index.with(new LeaveInterval(null, employeeId, date, date, LeaveInterval.ATTENDANCE)));
+            }
+        }
+    }
+    
+    /**
+     * Approved leave in a division for [from, to]: distinct people off and head count per day
+     */
+    public DivisionAbsence divisionAbsence(UUID divisionId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DIVISION_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_DIVISION_RANGE_DAYS + " days");
+        }
+        
+        DivisionWindow window = divisions.get(divisionId, this::loadDivision);
+        if (from.isBefore(window.from) || to.isAfter(window.to)) {
+            throw new IllegalArgumentException("Range must fall between " + window.from + " and " + window.to);
+        }
+        
+        Set<UUID> off = new HashSet<>();
+        int[] perDay = new int[days];
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        // Per-day counts assume one approved request per person per day, which apply enforces
+        for (LeaveInterval interval : window.index.overlapping(from, to)) {
+            off.add(interval.getEmployeeId());
+            long first = Math.max(fromDay, interval.getStart().toEpochDay());
+            long last = Math.min(toDay, interval.getEnd().toEpochDay());
+            for (long day = first; day <= last; day++) {
+                perDay[(int) (day - fromDay)]++;
+            }
+        }
+        return new DivisionAbsence(divisionId, from, to, off.size(), perDay);
+    }
+    
+    public void invalidateEmployee(UUID employeeId) {
+        employees.invalidate(employeeId);
+    }
+    
+    public void invalidateDivision(UUID divisionId) {
+        divisions.invalidate(divisionId);
+    }
+    
+    // Payload is "employee_id:primary_division_id", the division part empty for company-scope staff
+    private void onLeaveRequestChanged(String payload) {
+        int colon = payload.indexOf(':');
+        String employeePart = colon < 0 ? payload : payload.substring(0, colon);
+        String divisionPart = colon < 0 ? "" : payload.substring(colon + 1);
+        try {
+            invalidateEmployee(UUID.fromString(employeePart));
+            if (!divisionPart.isEmpty()) {
+                invalidateDivision(UUID.fromString(divisionPart));
+            }
+        } catch (IllegalArgumentException e) {
+            employees.invalidateAll();
+            divisions.invalidateAll();
+        }
+    }
+    
+    private IntervalIndex loadEmployee(UUID employeeId) {
+        List<LeaveInterval> intervals = new ArrayList<>();
+        jdbcTemplate.query(EMPLOYEE_LEAVE_SQL, (RowCallbackHandler) rs -> {
+            intervals.add(new LeaveInterval(rs.getObject("id", UUID.class), employeeId,
+                rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(), LeaveInterval.LEAVE));
+        }, employeeId);
+        
+        // Consecutive attended days collapse into one interval, so a year is ~50 entries rather than ~250
+        LocalDate[] run = new LocalDate[2];
+        jdbcTemplate.query(EMPLOYEE_ATTENDANCE_SQL, (RowCallbackHandler) rs -> {
+            LocalDate day = rs.getDate("attendance_date").toLocalDate();
+            if (run[0] != null && day.equals(run[1].plusDays(1))) {
+                run[1] = day;
+                return;
+            }
+            if (run[0] != null) {
+                intervals.add(new LeaveInterval(null, employeeId, run[0], run[1], LeaveInterval.ATTENDANCE));
+            }
+            run[0] = day;
+            run[1] = day;
+        }, employeeId, Date.valueOf(LocalDate.now().minusDays(attendanceLookbackDays)));
+        if (run[0] != null) {
+            intervals.add(new LeaveInterval(null, employeeId, run[0], run[1], LeaveInterval.ATTENDANCE));
+        }
+        
+        return IntervalIndex.of(intervals);
+    }
+    
+    private DivisionWindow loadDivision(UUID divisionId) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(divisionWindowPastDays);
+        LocalDate to = today.plusDays(divisionWindowAheadDays);
+        
+        List<LeaveInterval> intervals = new ArrayList<>();
+        jdbcTemplate.query(DIVISION_LEAVE_SQL, (RowCallbackHandler) rs -> {
+            intervals.add(new LeaveInterval(rs.getObject("id", UUID.class), rs.getObject("employee_id", UUID.class),
+                rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(), LeaveInterval.LEAVE));
+        }, divisionId, Date.valueOf(from), Date.valueOf(to));
+        
+        return new DivisionWindow(IntervalIndex.of(intervals), from, to);
+    }
+    
+    private Object lockFor(UUID employeeId) {
+        return locks[(employeeId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+    
+    private static final class DivisionWindow {
+        private final IntervalIndex index;
+        private final LocalDate from;
+        private final LocalDate to;
+        
+        DivisionWindow(IntervalIndex index, LocalDate from, LocalDate to) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+        }
+    }
+    
+    public static class DivisionAbsence {
+        private final UUID divisionId;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final int employeesOff;
+        private final int[] offPerDay;
+        
+        public DivisionAbsence(UUID divisionId, LocalDate from, LocalDate to, int employeesOff, int[] offPerDay) {
+            this.divisionId = divisionId;
+            this.from = from;
+            this.to = to;
+            this.employeesOff = employeesOff;
+            this.offPerDay = offPerDay;
+        }
+        
+        // Getters
+        public UUID getDivisionId() { return divisionId; }
+        
+        public LocalDate getFrom() { return from; }
+        
+        public LocalDate getTo() { return to; }
+        
+        public int getEmployeesOff() { return employeesOff; }
+        
+        public int[] getOffPerDay() { return offPerDay; }
+    }
+}
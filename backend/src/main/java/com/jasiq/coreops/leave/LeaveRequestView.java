@@ -0,0 +1,50 @@
+package com.jasiq.coreops.leave;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read model for leave request listings
+ */
+public class LeaveRequestView {
+    
+    private final UUID id;
+    private final UUID leaveTypeId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String reason;
+    private final String status;
+    private final Instant createdAt;
+    
+    public LeaveRequestView(UUID id, UUID leaveTypeId, LocalDate startDate, LocalDate endDate, String reason,
+                            String status, Instant createdAt) {
+        this.id = id;
+        this.leaveTypeId = leaveTypeId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.reason = reason;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+    
+    public static LeaveRequestView from(LeaveRequest request) {
+        return new LeaveRequestView(request.getId(), request.getLeaveTypeId(), request.getStartDate(), request.getEndDate(),
+            request.getReason(), request.getStatus(), request.getCreatedAt());
+    }
+    
+    // Getters
+    public UUID getId() { return id; }
+    
+    public UUID getLeaveTypeId() { return leaveTypeId; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    
+    public String getReason() { return reason; }
+    
+    public String getStatus() { return status; }
+    
+    public Instant getCreatedAt() { return createdAt; }
+}
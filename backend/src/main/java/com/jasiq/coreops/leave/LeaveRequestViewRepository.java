@@ -0,0 +1,18 @@
+package com.jasiq.coreops.leave;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+@org.springframework.stereotype.Repository
+public interface LeaveRequestViewRepository extends org.springframework.data.repository.Repository<LeaveRequest, UUID> {
+    
+    @Query(value = "SELECT new com.jasiq.coreops.leave.LeaveRequestView(l.id, l.leaveTypeId, l.startDate, l.endDate, " +
+                   "l.reason, l.status, l.createdAt) " +
+                   "FROM LeaveRequest l WHERE l.employeeId = :employeeId ORDER BY l.createdAt DESC",
+           countQuery = "SELECT COUNT(l) FROM LeaveRequest l WHERE l.employeeId = :employeeId")
+    Page<LeaveRequestView> findViewsByEmployeeId(@Param("employeeId") UUID employeeId, Pageable pageable);
+}
@@ -0,0 +1,171 @@
+package com.jasiq.coreops.notification;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in leased batches and delivers each message on a virtual thread.
+ * Every database step is a short transaction of its own; no connection is held during SMTP.
+ * Failures are retried with exponential backoff and dead-lettered after the last attempt.
+ */
+@Component
+public class EmailOutboxDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private OutboxMailSender mailSender;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+    
+    @Value("${mail.outbox.base-backoff-seconds:30}")
+    private long baseBackoffSeconds;
+    
+    @Value("${mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+    
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong backlog = new AtomicLong();
+    
+    private TransactionTemplate transactionTemplate;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter deadCounter;
+    private Timer sendTimer;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        sentCounter = Counter.builder("outbox.email.delivered").tag("result", "sent").register(meterRegistry);
+        retriedCounter = Counter.builder("outbox.email.delivered").tag("result", "retry").register(meterRegistry);
+        deadCounter = Counter.builder("outbox.email.delivered").tag("result", "dead").register(meterRegistry);
+        sendTimer = Timer.builder("outbox.email.send").register(meterRegistry);
+        Gauge.builder("outbox.email.backlog", backlog, AtomicLong::get).register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    /**
+     * Poll for due messages; keeps draining while full batches come back
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:5000}")
+    @Timed(value = "coreops.scheduled.duration", extraTags = { "job", "email_outbox_dispatch" })
+    public void dispatch() {
+        while (true) {
+            Instant now = Instant.now();
+            List<EmailOutboxMessage> batch = transactionTemplate.execute(status ->
+                outboxRepository.claimBatch(now, now.plusSeconds(leaseSeconds), batchSize));
+            
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            
+            deliver(batch);
+            
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        
+        backlog.set(outboxRepository.countByStatus(EmailOutboxMessage.PENDING));
+    }
+    
+    private void deliver(List<EmailOutboxMessage> batch) {
+        List<Future<?>> inFlight = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            inFlight.add(executor.submit(() -> deliverOne(message)));
+        }
+        
+        for (Future<?> future : inFlight) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Outbox delivery task failed", e.getCause());
+            }
+        }
+    }
+    
+    private void deliverOne(EmailOutboxMessage message) {
+        try {
+            sendTimer.recordCallable(() -> {
+                mailSender.send(message.getRecipient(), message.getSubject(), message.getBody());
+                return null;
+            });
+        } catch (Exception e) {
+            handleFailure(message, e);
+            return;
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markSent(message.getId(), Instant.now()));
+        sentCounter.increment();
+    }
+    
+    private void handleFailure(EmailOutboxMessage message, Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        Instant now = Instant.now();
+        
+        if (message.getAttempts() >= maxAttempts) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markDead(message.getId(), error, now));
+            deadCounter.increment();
+            log.error("Dead-lettered outbox email {} after {} attempts", message.getId(), message.getAttempts(), e);
+            return;
+        }
+        
+        Instant nextAttemptAt = now.plus(backoff(message.getAttempts()));
+        transactionTemplate.executeWithoutResult(status ->
+            outboxRepository.reschedule(message.getId(), nextAttemptAt, error, now));
+        retriedCounter.increment();
+        log.warn("Delivery of outbox email {} failed, attempt {}; retrying at {}",
+            message.getId(), message.getAttempts(), nextAttemptAt, e);
+    }
+    
+    private Duration backoff(int attempts) {
+        long seconds = baseBackoffSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+}
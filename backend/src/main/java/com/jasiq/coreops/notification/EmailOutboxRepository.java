@@ -0,0 +1,54 @@
+package com.jasiq.coreops.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+    
+    /**
+     * Lease a batch of due messages. SKIP LOCKED lets several dispatchers drain the table
+     * without blocking each other; a SENDING row whose lease ran out is picked up again.
+     */
+    @Query(value = "UPDATE email_outbox SET status = 'SENDING', attempts = attempts + 1, " +
+                   "next_attempt_at = :leaseUntil, updated_at = :now " +
+                   "WHERE id IN (SELECT id FROM email_outbox " +
+                   "  WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+                   "  ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *", nativeQuery = true)
+    List<EmailOutboxMessage> claimBatch(@Param("now") Instant now,
+                                        @Param("leaseUntil") Instant leaseUntil,
+                                        @Param("batchSize") int batchSize);
+    
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'SENT', m.sentAt = :now, m.updatedAt = :now, m.lastError = null WHERE m.id = :id")
+    int markSent(@Param("id") UUID id, @Param("now") Instant now);
+    
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'PENDING', m.nextAttemptAt = :nextAttemptAt, m.lastError = :error, m.updatedAt = :now WHERE m.id = :id")
+    int reschedule(@Param("id") UUID id, @Param("nextAttemptAt") Instant nextAttemptAt,
+                   @Param("error") String error, @Param("now") Instant now);
+    
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'DEAD', m.lastError = :error, m.updatedAt = :now WHERE m.id = :id")
+    int markDead(@Param("id") UUID id, @Param("error") String error, @Param("now") Instant now);
+    
+    /**
+     * Retention: delete up to limit SENT or DEAD rows last touched before cutoff.
+     * Bodies can carry password setup links, so finished rows must not be kept indefinitely.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM email_outbox WHERE id IN (" +
+                   "SELECT id FROM email_outbox WHERE status IN ('SENT', 'DEAD') AND updated_at < :cutoff " +
+                   "ORDER BY updated_at LIMIT :limit)", nativeQuery = true)
+    int deleteFinishedChunk(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+    
+    long countByStatus(String status);
+}
@@ -0,0 +1,30 @@
+package com.jasiq.coreops.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes outgoing email to the outbox as part of the caller's transaction.
+ * Nothing is sent here; {@link EmailOutboxDispatcher} delivers after commit.
+ */
+@Service
+public class EmailOutboxService {
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EmailOutboxMessage enqueue(String recipient, String subject, String body) {
+        return outboxRepository.save(new EmailOutboxMessage(recipient, subject, body));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<EmailOutboxMessage> enqueueAll(List<EmailOutboxMessage> messages) {
+        return new ArrayList<>(outboxRepository.saveAll(messages));
+    }
+}
@@ -0,0 +1,22 @@
+package com.jasiq.coreops.notification;
+
+import com.jasiq.coreops.auth.EmailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers outbox messages through the application's SMTP {@link EmailService}.
+ */
+@Component
+@Profile("!fake-smtp")
+public class EmailServiceMailSender implements OutboxMailSender {
+    
+    @Autowired
+    private EmailService emailService;
+    
+    @Override
+    public void send(String recipient, String subject, String body) {
+        emailService.sendEmail(recipient, subject, body);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jasiq.coreops.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the SMTP server, enabled with the "fake-smtp" profile.
+ * Keeps delivered messages in memory and can simulate latency and failures
+ * to exercise the dispatcher's retry and dead-letter paths.
+ */
+@Component
+@Profile("fake-smtp")
+public class FakeSmtpMailSender implements OutboxMailSender {
+    
+    @Value("${mail.fake.latency-ms:0}")
+    private long latencyMs;
+    
+    @Value("${mail.fake.failure-rate:0.0}")
+    private double failureRate;
+    
+    private final ConcurrentLinkedQueue<Delivered> delivered = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public void send(String recipient, String subject, String body) throws Exception {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Simulated SMTP failure");
+        }
+        delivered.add(new Delivered(recipient, subject, body));
+    }
+    
+    public List<Delivered> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+    
+    public void clear() {
+        delivered.clear();
+    }
+    
+    public static class Delivered {
+        private final String recipient;
+        private final String subject;
+        private final String body;
+        
+        public Delivered(String recipient, String subject, String body) {
+            this.recipient = recipient;
+            this.subject = subject;
+            this.body = body;
+        }
+        
+        public String getRecipient() { return recipient; }
+        
+        public String getSubject() { return subject; }
+        
+        public String getBody() { return body; }
+    }
+}
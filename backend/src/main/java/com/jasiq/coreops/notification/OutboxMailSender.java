@@ -0,0 +1,9 @@
+package com.jasiq.coreops.notification;
+
+/**
+ * Transport used by the outbox dispatcher to actually deliver a message.
+ */
+public interface OutboxMailSender {
+    
+    void send(String recipient, String subject, String body) throws Exception;
+}
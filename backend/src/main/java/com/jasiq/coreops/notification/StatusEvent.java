@@ -0,0 +1,27 @@
+package com.jasiq.coreops.notification;
+
+import java.util.UUID;
+
+/**
+ * A leave request or timesheet status transition, as published by the
+ * employee_status_changed trigger (V115) and pushed to the employee's event stream
+ */
+public class StatusEvent {
+    private String type;
+    private UUID id;
+    private UUID employeeId;
+    private String status;
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public UUID getEmployeeId() { return employeeId; }
+    public void setEmployeeId(UUID employeeId) { this.employeeId = employeeId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -0,0 +1,48 @@
+package com.jasiq.coreops.notification;
+
+import com.jasiq.coreops.auth.CurrentEmployee;
+import com.jasiq.coreops.auth.EmployeeContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+public class StatusEventController {
+    
+    @Autowired
+    private StatusEventHub statusEventHub;
+    
+    /**
+     * Self-scoped endpoint: stream of the current employee's leave and timesheet status changes.
+     * Events are "leave.status" / "timesheet.status" with {type, id, employeeId, status};
+     * on "resync" (and after reconnecting) the client refetches /leave/me and /timesheets/me once.
+     * 503 means live updates are unavailable on this node and the client should keep polling.
+     */
+    @GetMapping(value = "/me", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<SseEmitter> streamMyStatusChanges(@CurrentEmployee EmployeeContext employee) {
+        if (!statusEventHub.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        
+        SseEmitter emitter = statusEventHub.connect(employee.getEmployeeId());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            // Keeps nginx-style proxies from buffering the stream
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
+    }
+}
@@ -0,0 +1,261 @@
+package com.jasiq.coreops.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jasiq.coreops.common.PgNotificationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans employee_status_changed notifications out to the employees' open SSE streams.
+ * Each connection has a small bounded buffer drained by its own virtual thread, so a slow
+ * client never holds up the listener or other clients. When a buffer overflows the oldest
+ * events are dropped and the client gets a "resync" event telling it to refetch once.
+ * Requires pg.notify.enabled; without it {@link #isEnabled()} is false and clients keep polling.
+ */
+@Component
+public class StatusEventHub {
+    
+    private static final Logger log = LoggerFactory.getLogger(StatusEventHub.class);
+    
+    static final String NOTIFY_CHANNEL = "employee_status_changed";
+    
+    @Autowired
+    private ObjectProvider<PgNotificationListener> notificationListener;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${sse.buffer-size:32}")
+    private int bufferSize;
+    
+    @Value("${sse.max-connections:10000}")
+    private int maxConnections;
+    
+    @Value("${sse.max-connections-per-employee:5}")
+    private int maxConnectionsPerEmployee;
+    
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    private final ConcurrentHashMap<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private volatile boolean enabled;
+    private Counter deliveredCounter;
+    private Counter droppedCounter;
+    private Timer fanoutTimer;
+    
+    @PostConstruct
+    void init() {
+        deliveredCounter = Counter.builder("coreops.sse.events").tag("outcome", "delivered").register(meterRegistry);
+        droppedCounter = Counter.builder("coreops.sse.events").tag("outcome", "dropped").register(meterRegistry);
+        // From notification receipt to the event being written to the connection
+        fanoutTimer = Timer.builder("coreops.sse.fanout").register(meterRegistry);
+        Gauge.builder("coreops.sse.connections", connections, AtomicInteger::get).register(meterRegistry);
+        
+        notificationListener.ifAvailable(listener -> {
+            listener.subscribe(NOTIFY_CHANNEL, this::onNotification);
+            // Notifications sent while disconnected are lost
+            listener.onReconnect(this::resyncAll);
+            enabled = true;
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::close));
+        executor.shutdown();
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    
+    /**
+     * Open a stream for employeeId, or null when the node is at its connection limit.
+     * An employee over the per-employee limit loses their oldest stream instead.
+     */
+    public SseEmitter connect(UUID employeeId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return null;
+        }
+        
+        Subscriber subscriber = new Subscriber(employeeId, new SseEmitter(timeoutMs));
+        List<Subscriber> streams = subscribers.compute(employeeId, (id, existing) -> {
+            List<Subscriber> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        if (streams.size() > maxConnectionsPerEmployee) {
+            streams.get(0).close();
+        }
+        
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> remove(subscriber));
+        
+        // Flushes the headers so the client sees the stream open straight away
+        subscriber.offer(Outgoing.KEEPALIVE);
+        return emitter;
+    }
+    
+    /**
+     * Comment line on every stream, so proxies keep idle streams open and dead ones surface
+     */
+    @Scheduled(fixedRateString = "${sse.keepalive-ms:25000}")
+    public void keepAlive() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.offer(Outgoing.KEEPALIVE)));
+    }
+    
+    void onNotification(String payload) {
+        StatusEvent event;
+        try {
+            event = objectMapper.readValue(payload, StatusEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed {} payload", NOTIFY_CHANNEL, e);
+            return;
+        }
+        
+        List<Subscriber> streams = event.getEmployeeId() == null ? null : subscribers.get(event.getEmployeeId());
+        if (streams == null) {
+            return;
+        }
+        
+        Outgoing outgoing = new Outgoing(event, System.nanoTime());
+        streams.forEach(subscriber -> subscriber.offer(outgoing));
+    }
+    
+    private void resyncAll() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::markOverflowed));
+    }
+    
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.employeeId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+    
+    private static final class Outgoing {
+        static final Outgoing KEEPALIVE = new Outgoing(null, 0);
+        
+        private final StatusEvent event;
+        private final long receivedAtNanos;
+        
+        Outgoing(StatusEvent event, long receivedAtNanos) {
+            this.event = event;
+            this.receivedAtNanos = receivedAtNanos;
+        }
+    }
+    
+    private final class Subscriber {
+        private final UUID employeeId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Outgoing> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        
+        Subscriber(UUID employeeId, SseEmitter emitter) {
+            this.employeeId = employeeId;
+            this.emitter = emitter;
+        }
+        
+        void offer(Outgoing outgoing) {
+            while (!buffer.offer(outgoing)) {
+                Outgoing dropped = buffer.poll();
+                if (dropped != null && dropped.event != null) {
+                    droppedCounter.increment();
+                    overflowed = true;
+                }
+            }
+            scheduleDrain();
+        }
+        
+        void markOverflowed() {
+            overflowed = true;
+            scheduleDrain();
+        }
+        
+        void close() {
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed
+            }
+        }
+        
+        private void scheduleDrain() {
+            if (!removed.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                }
+                Outgoing outgoing;
+                while ((outgoing = buffer.poll()) != null) {
+                    if (outgoing.event == null) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                        .name(outgoing.event.getType() + ".status")
+                        .data(outgoing.event, MediaType.APPLICATION_JSON));
+                    deliveredCounter.increment();
+                    fanoutTimer.record(System.nanoTime() - outgoing.receivedAtNanos, TimeUnit.NANOSECONDS);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the stream timed out
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            
+            // An offer may have landed between the last poll and releasing the flag
+            if (!buffer.isEmpty() || overflowed) {
+                scheduleDrain();
+            }
+        }
+    }
+}
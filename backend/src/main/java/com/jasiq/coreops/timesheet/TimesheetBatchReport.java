@@ -0,0 +1,74 @@
+package com.jasiq.coreops.timesheet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-period outcome of a batch timesheet submission, in input order.
+ */
+public class TimesheetBatchReport {
+    
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String FAILED = "FAILED";
+    
+    private final List<Period> periods = new ArrayList<>();
+    private int created;
+    private int duplicate;
+    private int failed;
+    
+    void add(Period period) {
+        periods.add(period);
+        switch (period.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicate++;
+            default -> failed++;
+        }
+    }
+    
+    // Getters
+    public List<Period> getPeriods() { return periods; }
+    
+    public int getCreated() { return created; }
+    
+    public int getDuplicate() { return duplicate; }
+    
+    public int getFailed() { return failed; }
+    
+    public static class Period {
+        private final int index;
+        private final String idempotencyKey;
+        private final String weekStart;
+        private final String status;
+        private final UUID timesheetId;
+        private final Double totalHours;
+        private final String message;
+        
+        public Period(int index, String idempotencyKey, String weekStart, String status, UUID timesheetId,
+                      Double totalHours, String message) {
+            this.index = index;
+            this.idempotencyKey = idempotencyKey;
+            this.weekStart = weekStart;
+            this.status = status;
+            this.timesheetId = timesheetId;
+            this.totalHours = totalHours;
+            this.message = message;
+        }
+        
+        // Getters
+        public int getIndex() { return index; }
+        
+        public String getIdempotencyKey() { return idempotencyKey; }
+        
+        public String getWeekStart() { return weekStart; }
+        
+        public String getStatus() { return status; }
+        
+        public UUID getTimesheetId() { return timesheetId; }
+        
+        public Double getTotalHours() { return totalHours; }
+        
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,301 @@
+package com.jasiq.coreops.timesheet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jasiq.coreops.timesheet.TimesheetControllerExtension.BatchTimesheetItem;
+import com.jasiq.coreops.timesheet.TimesheetControllerExtension.TimesheetRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Submits several timesheet periods in one call. Every period carries a client-chosen
+ * idempotency key, stored in timesheet_idempotency_key in the same transaction as the
+ * timesheet, so a retried request on any node replays the original result instead of
+ * inserting the week again.
+ */
+@Service
+public class TimesheetBatchService {
+    
+    public static final int MAX_PERIODS = 26;
+    public static final int MAX_KEY_LENGTH = 100;
+    
+    // One row per period is appended to the VALUES list (at most MAX_PERIODS). A concurrent claim of
+    // the same key waits on the unique index, then sees the committed row; RETURNING names the winners.
+    private static final String CLAIM_KEYS_SQL =
+        "INSERT INTO timesheet_idempotency_key (employee_id, idempotency_key, week_start) VALUES ";
+    
+    private static final String CLAIM_KEYS_CONFLICT_SQL =
+        " ON CONFLICT (employee_id, idempotency_key) DO NOTHING RETURNING idempotency_key";
+    
+    private static final String FIND_KEY_SQL =
+        "SELECT week_start, timesheet_id, total_hours FROM timesheet_idempotency_key " +
+        "WHERE employee_id = ? AND idempotency_key = ?";
+    
+    private static final String RECORD_KEY_SQL =
+        "UPDATE timesheet_idempotency_key SET timesheet_id = ?, total_hours = ? " +
+        "WHERE employee_id = ? AND idempotency_key = ?";
+    
+    private static final String RECORD_BREAKDOWN_SQL =
+        "UPDATE timesheet_header SET daily_hours = CAST(? AS jsonb), project_hours = CAST(? AS jsonb) WHERE id = ?";
+    
+    private static final String PURGE_KEYS_SQL =
+        "DELETE FROM timesheet_idempotency_key WHERE ctid IN (" +
+        "SELECT ctid FROM timesheet_idempotency_key WHERE created_at < ? ORDER BY created_at LIMIT ?)";
+    
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${timesheet.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+    
+    @Value("${timesheet.idempotency.purge-chunk-size:1000}")
+    private int purgeChunkSize;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Saves a single period together with its day and project breakdown, in one transaction
+     */
+    public Timesheet submitOne(UUID employeeId, TimesheetRequest request, TimesheetTotals totals) {
+        return transactionTemplate.execute(status -> {
+            Timesheet saved = timesheetRepository.saveAndFlush(toTimesheet(employeeId, request, totals));
+            recordBreakdown(List.of(saved), List.of(totals));
+            return saved;
+        });
+    }
+    
+    public TimesheetBatchReport submit(UUID employeeId, List<BatchTimesheetItem> items) {
+        TimesheetBatchReport.Period[] outcomes = new TimesheetBatchReport.Period[items.size()];
+        
+        // Validate and total each period; only valid ones go to the database
+        Set<String> seen = new HashSet<>();
+        List<Pending> pending = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchTimesheetItem item = items.get(i);
+            String key = item.getIdempotencyKey();
+            if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                outcomes[i] = failed(i, item, "idempotencyKey is required (max " + MAX_KEY_LENGTH + " characters)");
+                continue;
+            }
+            if (!seen.add(key)) {
+                outcomes[i] = failed(i, item, "Duplicate idempotencyKey in batch");
+                continue;
+            }
+            if (item.getWeekStart() == null) {
+                outcomes[i] = failed(i, item, "weekStart is required");
+                continue;
+            }
+            
+            LocalDate weekStart;
+            TimesheetTotals periodTotals;
+            try {
+                weekStart = LocalDate.parse(item.getWeekStart());
+                periodTotals = TimesheetTotals.of(weekStart, item.getEntries());
+            } catch (DateTimeParseException e) {
+                outcomes[i] = failed(i, item, "weekStart must be an ISO date (yyyy-MM-dd)");
+                continue;
+            } catch (IllegalArgumentException e) {
+                outcomes[i] = failed(i, item, e.getMessage());
+                continue;
+            }
+            pending.add(new Pending(i, item, weekStart, periodTotals));
+        }
+        
+        if (!pending.isEmpty()) {
+            try {
+                // One transaction lets Hibernate group the inserts into JDBC batches
+                transactionTemplate.executeWithoutResult(status -> insert(employeeId, pending, outcomes));
+            } catch (DataIntegrityViolationException e) {
+                // Some week already has a timesheet: retry period by period so the others still go in
+                for (Pending period : pending) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(employeeId, List.of(period), outcomes));
+                    } catch (DataIntegrityViolationException periodError) {
+                        outcomes[period.index] = failed(period.index, period.item,
+                            "A timesheet for the week starting " + period.item.getWeekStart() + " already exists");
+                    }
+                }
+            }
+        }
+        
+        TimesheetBatchReport report = new TimesheetBatchReport();
+        for (TimesheetBatchReport.Period outcome : outcomes) {
+            report.add(outcome);
+        }
+        return report;
+    }
+    
+    /**
+     * Claims the keys, replays already used ones, then inserts the rest. Runs inside a transaction;
+     * a unique violation rolls the claims back together with the timesheets.
+     */
+    private void insert(UUID employeeId, List<Pending> periods, TimesheetBatchReport.Period[] outcomes) {
+        List<Pending> fresh = new ArrayList<>();
+        List<Timesheet> timesheets = new ArrayList<>();
+        List<TimesheetTotals> totals = new ArrayList<>();
+        Set<String> claimed = claimKeys(employeeId, periods);
+        for (Pending period : periods) {
+            if (!claimed.contains(period.item.getIdempotencyKey())) {
+                outcomes[period.index] = replay(employeeId, period);
+            } else {
+                fresh.add(period);
+                timesheets.add(toTimesheet(employeeId, period.item, period.totals));
+                totals.add(period.totals);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        
+        List<Timesheet> saved = timesheetRepository.saveAll(timesheets);
+        // Surface constraint violations here rather than at commit
+        timesheetRepository.flush();
+        
+        List<Object[]> recorded = new ArrayList<>(fresh.size());
+        for (int n = 0; n < fresh.size(); n++) {
+            Pending period = fresh.get(n);
+            recorded.add(new Object[] { saved.get(n).getId(), BigDecimal.valueOf(period.totals.getTotalHours()),
+                employeeId, period.item.getIdempotencyKey() });
+        }
+        jdbcTemplate.batchUpdate(RECORD_KEY_SQL, recorded);
+        recordBreakdown(saved, totals);
+        
+        for (int n = 0; n < fresh.size(); n++) {
+            Pending period = fresh.get(n);
+            outcomes[period.index] = new TimesheetBatchReport.Period(period.index, period.item.getIdempotencyKey(),
+                period.item.getWeekStart(), TimesheetBatchReport.CREATED, saved.get(n).getId(),
+                period.totals.getTotalHours(), null);
+        }
+    }
+    
+    // All keys in one round trip; keys already in the table are left out of the result
+    private Set<String> claimKeys(UUID employeeId, List<Pending> periods) {
+        StringBuilder sql = new StringBuilder(CLAIM_KEYS_SQL);
+        Object[] args = new Object[periods.size() * 3];
+        for (int n = 0; n < periods.size(); n++) {
+            Pending period = periods.get(n);
+            sql.append(n == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+            args[n * 3] = employeeId;
+            args[n * 3 + 1] = period.item.getIdempotencyKey();
+            args[n * 3 + 2] = Date.valueOf(period.weekStart);
+        }
+        sql.append(CLAIM_KEYS_CONFLICT_SQL);
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), String.class, args));
+    }
+    
+    // Not mapped on Timesheet, so written next to the insert in the same transaction
+    private void recordBreakdown(List<Timesheet> saved, List<TimesheetTotals> totals) {
+        List<Object[]> rows = new ArrayList<>(saved.size());
+        for (int n = 0; n < saved.size(); n++) {
+            rows.add(new Object[] { toJson(totals.get(n).getDailyHours()), toJson(totals.get(n).getProjectHours()),
+                saved.get(n).getId() });
+        }
+        jdbcTemplate.batchUpdate(RECORD_BREAKDOWN_SQL, rows);
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize timesheet totals", e);
+        }
+    }
+    
+    private TimesheetBatchReport.Period replay(UUID employeeId, Pending period) {
+        List<TimesheetBatchReport.Period> found = new ArrayList<>(1);
+        jdbcTemplate.query(FIND_KEY_SQL, (RowCallbackHandler) rs -> {
+            LocalDate previousWeek = rs.getDate("week_start").toLocalDate();
+            if (!previousWeek.equals(period.weekStart)) {
+                found.add(failed(period.index, period.item, "idempotencyKey was already used for week " + previousWeek));
+                return;
+            }
+            BigDecimal totalHours = rs.getBigDecimal("total_hours");
+            found.add(new TimesheetBatchReport.Period(period.index, period.item.getIdempotencyKey(),
+                period.item.getWeekStart(), TimesheetBatchReport.DUPLICATE, rs.getObject("timesheet_id", UUID.class),
+                totalHours == null ? null : totalHours.doubleValue(), null));
+        }, employeeId, period.item.getIdempotencyKey());
+        
+        // Purged between the claim and the read: the caller may simply retry
+        return found.isEmpty()
+            ? failed(period.index, period.item, "idempotencyKey expired while being replayed, retry the period")
+            : found.get(0);
+    }
+    
+    /**
+     * Deletes idempotency keys older than the retention window in bounded chunks.
+     * Returns the number of keys removed.
+     */
+    public long purgeExpiredKeys() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(ttlSeconds, ChronoUnit.SECONDS));
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_KEYS_SQL, cutoff, purgeChunkSize);
+            total += deleted;
+        } while (deleted == purgeChunkSize);
+        return total;
+    }
+    
+    private static Timesheet toTimesheet(UUID employeeId, TimesheetRequest item, TimesheetTotals totals) {
+        Timesheet timesheet = new Timesheet();
+        timesheet.setEmployeeId(employeeId);
+        timesheet.setWeekStart(item.getWeekStart());
+        timesheet.setEntries(item.getEntries());
+        timesheet.setStatus("SUBMITTED");
+        timesheet.setTotalHours(totals.getTotalHours());
+        return timesheet;
+    }
+    
+    private static TimesheetBatchReport.Period failed(int index, BatchTimesheetItem item, String message) {
+        return new TimesheetBatchReport.Period(index, item.getIdempotencyKey(), item.getWeekStart(),
+            TimesheetBatchReport.FAILED, null, null, message);
+    }
+    
+    private static final class Pending {
+        private final int index;
+        private final BatchTimesheetItem item;
+        private final LocalDate weekStart;
+        private final TimesheetTotals totals;
+        
+        Pending(int index, BatchTimesheetItem item, LocalDate weekStart, TimesheetTotals totals) {
+            this.index = index;
+            this.item = item;
+            this.weekStart = weekStart;
+            this.totals = totals;
+        }
+    }
+}
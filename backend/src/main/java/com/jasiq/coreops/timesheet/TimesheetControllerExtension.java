@@ -1,32 +1,80 @@
 package com.jasiq.coreops.timesheet;
 
-import com.jasiq.coreops.auth.User;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.jasiq.coreops.auth.CurrentEmployee;
+import com.jasiq.coreops.auth.EmployeeContext;
+import com.jasiq.coreops.common.ConditionalGet;
+import com.jasiq.coreops.common.HistoryExporter;
+import com.jasiq.coreops.common.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/timesheets")
 public class TimesheetControllerExtension {
     
+    private static final String EXPORT_SQL =
+        "SELECT id, period_type, period_start, period_end, status, submitted_at, approved_l1_at, approved_l2_at, " +
+        "rejected_at, rejected_reason, created_at, updated_at " +
+        "FROM timesheet_header WHERE employee_id = ? ORDER BY period_start, id";
+    
+    // Bumped by a trigger on every write to the employee's rows (V124); a primary-key lookup
+    private static final String HISTORY_VERSION_SQL =
+        "SELECT version FROM employee_history_version WHERE employee_id = ? AND resource = 'timesheet'";
+    
+    @Autowired
+    private TimesheetViewRepository timesheetViewRepository;
+    
+    @Autowired
+    private TimesheetBatchService timesheetBatchService;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+    
+    @Autowired
+    private HistoryExporter historyExporter;
+    
     @Autowired
-    private TimesheetRepository timesheetRepository;
+    private ConditionalGet conditionalGet;
     
     /**
      * Self-scoped endpoint: Get current employee's timesheets
+     * Offset paging by default; keyset paging when a cursor param is present
      */
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> getMyTimesheets(Pageable pageable) {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> getMyTimesheets(@CurrentEmployee EmployeeContext employee, Pageable pageable,
+                                             @RequestParam(required = false) String cursor, HttpServletRequest request) {
+        UUID employeeId = employee.getEmployeeId();
         
-        Page<Timesheet> timesheets = timesheetRepository.findByEmployeeIdOrderByWeekStartDesc(employeeId, pageable);
+        // Opt-in keyset mode: "?cursor=" for the first page, then the returned nextCursor
+        // weekStart is stored as ISO text, so the cursor value is checked as a date and passed on canonical
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(keysetPager.fetch(Timesheet.class, "weekStart", employeeId, cursor, pageable.getPageSize(),
+                    Timesheet::getWeekStart, Timesheet::getId, value -> LocalDate.parse(value).toString()).map(TimesheetView::from));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        
+        // The polled first page answers 304 while nothing has changed
+        if (pageable.getPageNumber() == 0) {
+            return conditionalGet.respond(request, "timesheets-me", employeeId + ":" + pageable, HISTORY_VERSION_SQL,
+                new Object[] { employeeId }, () -> timesheetViewRepository.findViewsByEmployeeId(employeeId, pageable));
+        }
+        
+        Page<TimesheetView> timesheets = timesheetViewRepository.findViewsByEmployeeId(employeeId, pageable);
         
         return ResponseEntity.ok(timesheets);
     }
@@ -36,41 +84,117 @@ public class TimesheetControllerExtension {
      */
     @PostMapping("/me")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
-    public ResponseEntity<?> submitMyTimesheet(@RequestBody TimesheetRequest request) {
-        UUID employeeId = getCurrentEmployeeId();
+    public ResponseEntity<?> submitMyTimesheet(@CurrentEmployee EmployeeContext employee, @RequestBody TimesheetRequest request) {
+        UUID employeeId = employee.getEmployeeId();
+        
+        LocalDate weekStart;
+        TimesheetTotals totals;
+        try {
+            weekStart = LocalDate.parse(request.getWeekStart());
+            totals = TimesheetTotals.of(weekStart, request.getEntries());
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("weekStart must be an ISO date (yyyy-MM-dd)");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
         
-        Timesheet timesheet = new Timesheet();
-        timesheet.setEmployeeId(employeeId);
-        timesheet.setWeekStart(request.getWeekStart());
-        timesheet.setEntries(request.getEntries());
-        timesheet.setStatus("SUBMITTED");
-        timesheet.setTotalHours(calculateTotalHours(request.getEntries()));
+        Timesheet timesheet = timesheetBatchService.submitOne(employeeId, request, totals);
         
-        timesheet = timesheetRepository.save(timesheet);
+        return ResponseEntity.ok(new TimesheetSubmission(timesheet, totals));
+    }
+    
+    /**
+     * Self-scoped endpoint: Submit several periods at once
+     * Each period needs an idempotencyKey; retries replay the original outcome
+     */
+    @PostMapping("/me/batch")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<?> submitMyTimesheets(@CurrentEmployee EmployeeContext employee, @RequestBody BatchTimesheetRequest request) {
+        List<BatchTimesheetItem> periods = request.getPeriods();
+        if (periods == null || periods.isEmpty()) {
+            return ResponseEntity.badRequest().body("No periods submitted");
+        }
+        if (periods.size() > TimesheetBatchService.MAX_PERIODS) {
+            return ResponseEntity.badRequest().body("At most " + TimesheetBatchService.MAX_PERIODS + " periods per request");
+        }
         
-        return ResponseEntity.ok(timesheet);
+        return ResponseEntity.ok(timesheetBatchService.submit(employee.getEmployeeId(), periods));
+    }
+    
+    /**
+     * Self-scoped endpoint: Stream the full timesheet history as NDJSON or CSV
+     */
+    @GetMapping("/me/export")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    public ResponseEntity<?> exportMyTimesheets(@CurrentEmployee EmployeeContext employee,
+                                                @RequestParam(defaultValue = "ndjson") String format,
+                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportTimesheets(employee.getEmployeeId(), format, gzip);
     }
     
-    private UUID getCurrentEmployeeId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
-        return user.getEmployeeId();
+    /**
+     * Compliance export of any employee's timesheet history
+     */
+    @GetMapping("/{employeeId}/export")
+    @PreAuthorize("hasAnyAuthority('GOV_AUDIT_EXPORT', 'ADMIN')")
+    public ResponseEntity<?> exportEmployeeTimesheets(@PathVariable UUID employeeId,
+                                                      @RequestParam(defaultValue = "ndjson") String format,
+                                                      @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportTimesheets(employeeId, format, gzip);
     }
     
-    private double calculateTotalHours(Object entries) {
-        // Calculate total hours from entries
-        return 0.0; // Implementation depends on entry structure
+    private ResponseEntity<?> exportTimesheets(UUID employeeId, String format, boolean gzip) {
+        try {
+            return historyExporter.export(EXPORT_SQL, new Object[] { employeeId }, format, gzip,
+                "timesheets-" + employeeId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     public static class TimesheetRequest {
         private String weekStart;
-        private Object entries;
+        private List<TimesheetEntry> entries;
         
         // Getters and Setters
         public String getWeekStart() { return weekStart; }
         public void setWeekStart(String weekStart) { this.weekStart = weekStart; }
         
-        public Object getEntries() { return entries; }
-        public void setEntries(Object entries) { this.entries = entries; }
+        public List<TimesheetEntry> getEntries() { return entries; }
+        public void setEntries(List<TimesheetEntry> entries) { this.entries = entries; }
+    }
+    
+    public static class BatchTimesheetRequest {
+        private List<BatchTimesheetItem> periods;
+        
+        // Getters and Setters
+        public List<BatchTimesheetItem> getPeriods() { return periods; }
+        public void setPeriods(List<BatchTimesheetItem> periods) { this.periods = periods; }
+    }
+    
+    public static class BatchTimesheetItem extends TimesheetRequest {
+        private String idempotencyKey;
+        
+        // Getters and Setters
+        public String getIdempotencyKey() { return idempotencyKey; }
+        public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    }
+    
+    /**
+     * Saved timesheet with its day and project breakdown alongside the stored fields
+     */
+    public static class TimesheetSubmission {
+        @JsonUnwrapped
+        private final Timesheet timesheet;
+        private final TimesheetTotals totals;
+        
+        public TimesheetSubmission(Timesheet timesheet, TimesheetTotals totals) {
+            this.timesheet = timesheet;
+            this.totals = totals;
+        }
+        
+        public Timesheet getTimesheet() { return timesheet; }
+        
+        public TimesheetTotals getTotals() { return totals; }
     }
 }
@@ -0,0 +1,28 @@
+package com.jasiq.coreops.timesheet;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One line of a weekly timesheet: hours booked against a project task on a day
+ */
+public class TimesheetEntry {
+    
+    private LocalDate day;
+    private UUID projectId;
+    private String task;
+    private double hours;
+    
+    // Getters and Setters
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+    
+    public UUID getProjectId() { return projectId; }
+    public void setProjectId(UUID projectId) { this.projectId = projectId; }
+    
+    public String getTask() { return task; }
+    public void setTask(String task) { this.task = task; }
+    
+    public double getHours() { return hours; }
+    public void setHours(double hours) { this.hours = hours; }
+}
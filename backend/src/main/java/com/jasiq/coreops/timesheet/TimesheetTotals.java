@@ -0,0 +1,111 @@
+package com.jasiq.coreops.timesheet;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Week, per-day and per-project hour totals, computed in a single pass.
+ * Hours are accumulated as whole hundredths in primitive arrays so repeated
+ * fractions (0.1 h, 0.25 h) add up exactly and no boxing happens per entry.
+ */
+public class TimesheetTotals {
+    
+    private static final int DAYS_PER_WEEK = 7;
+    private static final String UNASSIGNED_PROJECT = "unassigned";
+    private static final long MAX_CENTI_HOURS_PER_DAY = 24 * 100;
+    
+    private final long[] dayCentiHours = new long[DAYS_PER_WEEK];
+    private UUID[] projectIds = new UUID[4];
+    private long[] projectCentiHours = new long[4];
+    private int projectCount;
+    private long weekCentiHours;
+    
+    private TimesheetTotals() {
+    }
+    
+    /**
+     * Validates and totals the entries of the week starting at weekStart.
+     * Throws IllegalArgumentException on empty entries, entries outside the week,
+     * negative hours or a day booked beyond 24 hours.
+     */
+    public static TimesheetTotals of(LocalDate weekStart, List<TimesheetEntry> entries) {
+        TimesheetTotals totals = new TimesheetTotals();
+        if (entries == null) {
+            return totals;
+        }
+        
+        for (int i = 0, n = entries.size(); i < n; i++) {
+            TimesheetEntry entry = entries.get(i);
+            if (entry == null) {
+                throw new IllegalArgumentException("Entry " + i + " is empty");
+            }
+            if (entry.getDay() == null) {
+                throw new IllegalArgumentException("Entry " + i + ": day is required");
+            }
+            long dayIndex = ChronoUnit.DAYS.between(weekStart, entry.getDay());
+            if (dayIndex < 0 || dayIndex >= DAYS_PER_WEEK) {
+                throw new IllegalArgumentException("Entry " + i + ": " + entry.getDay() + " is outside the week starting " + weekStart);
+            }
+            if (entry.getHours() < 0) {
+                throw new IllegalArgumentException("Entry " + i + ": hours must not be negative");
+            }
+            
+            long centiHours = Math.round(entry.getHours() * 100);
+            long dayTotal = totals.dayCentiHours[(int) dayIndex] += centiHours;
+            if (dayTotal > MAX_CENTI_HOURS_PER_DAY) {
+                throw new IllegalArgumentException(entry.getDay() + " is booked for more than 24 hours");
+            }
+            totals.weekCentiHours += centiHours;
+            totals.addProject(entry.getProjectId(), centiHours);
+        }
+        return totals;
+    }
+    
+    // Weeks touch a handful of projects, so a linear scan beats hashing
+    private void addProject(UUID projectId, long centiHours) {
+        for (int i = 0; i < projectCount; i++) {
+            if (projectId == null ? projectIds[i] == null : projectId.equals(projectIds[i])) {
+                projectCentiHours[i] += centiHours;
+                return;
+            }
+        }
+        if (projectCount == projectIds.length) {
+            projectIds = Arrays.copyOf(projectIds, projectCount * 2);
+            projectCentiHours = Arrays.copyOf(projectCentiHours, projectCount * 2);
+        }
+        projectIds[projectCount] = projectId;
+        projectCentiHours[projectCount] = centiHours;
+        projectCount++;
+    }
+    
+    public double getTotalHours() {
+        return weekCentiHours / 100.0;
+    }
+    
+    /**
+     * Hours per day, index 0 being the week start
+     */
+    public double[] getDailyHours() {
+        double[] hours = new double[DAYS_PER_WEEK];
+        for (int i = 0; i < DAYS_PER_WEEK; i++) {
+            hours[i] = dayCentiHours[i] / 100.0;
+        }
+        return hours;
+    }
+    
+    /**
+     * Hours per project id; entries without a project are keyed "unassigned"
+     */
+    public Map<String, Double> getProjectHours() {
+        Map<String, Double> hours = new LinkedHashMap<>();
+        for (int i = 0; i < projectCount; i++) {
+            hours.put(projectIds[i] == null ? UNASSIGNED_PROJECT : projectIds[i].toString(), projectCentiHours[i] / 100.0);
+        }
+        return hours;
+    }
+}
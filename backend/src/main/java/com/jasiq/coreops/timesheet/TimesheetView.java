@@ -0,0 +1,34 @@
+package com.jasiq.coreops.timesheet;
+
+import java.util.UUID;
+
+/**
+ * Read model for timesheet listings; entries are left out, the stored total stands in for them
+ */
+public class TimesheetView {
+    
+    private final UUID id;
+    private final String weekStart;
+    private final String status;
+    private final Double totalHours;
+    
+    public TimesheetView(UUID id, String weekStart, String status, Double totalHours) {
+        this.id = id;
+        this.weekStart = weekStart;
+        this.status = status;
+        this.totalHours = totalHours;
+    }
+    
+    public static TimesheetView from(Timesheet timesheet) {
+        return new TimesheetView(timesheet.getId(), timesheet.getWeekStart(), timesheet.getStatus(), timesheet.getTotalHours());
+    }
+    
+    // Getters
+    public UUID getId() { return id; }
+    
+    public String getWeekStart() { return weekStart; }
+    
+    public String getStatus() { return status; }
+    
+    public Double getTotalHours() { return totalHours; }
+}
@@ -0,0 +1,17 @@
+package com.jasiq.coreops.timesheet;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+@org.springframework.stereotype.Repository
+public interface TimesheetViewRepository extends org.springframework.data.repository.Repository<Timesheet, UUID> {
+    
+    @Query(value = "SELECT new com.jasiq.coreops.timesheet.TimesheetView(t.id, t.weekStart, t.status, t.totalHours) " +
+                   "FROM Timesheet t WHERE t.employeeId = :employeeId ORDER BY t.weekStart DESC",
+           countQuery = "SELECT COUNT(t) FROM Timesheet t WHERE t.employeeId = :employeeId")
+    Page<TimesheetView> findViewsByEmployeeId(@Param("employeeId") UUID employeeId, Pageable pageable);
+}
@@ -0,0 +1,69 @@
+package com.jasiq.coreops.attendance;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckInRegistryTest {
+    
+    private final LocalDate today = LocalDate.now();
+    
+    @Test
+    void marksOnlyTheGivenEmployeeAndDay() {
+        CheckInRegistry registry = new CheckInRegistry();
+        UUID employee = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        
+        assertFalse(registry.isMarked(employee, today));
+        registry.markMarked(employee, today);
+        
+        assertTrue(registry.isMarked(employee, today));
+        assertFalse(registry.isMarked(other, today));
+        assertFalse(registry.isMarked(employee, today.plusDays(1)));
+    }
+    
+    @Test
+    void dayRolloverStartsEmpty() {
+        CheckInRegistry registry = new CheckInRegistry();
+        UUID employee = UUID.randomUUID();
+        LocalDate tomorrow = today.plusDays(1);
+        registry.markMarked(employee, today);
+        
+        registry.markMarked(UUID.randomUUID(), tomorrow);
+        
+        assertFalse(registry.isMarked(employee, tomorrow));
+        assertFalse(registry.isMarked(employee, today));
+    }
+    
+    @Test
+    void lateWriteForPreviousDayIsIgnored() {
+        CheckInRegistry registry = new CheckInRegistry();
+        UUID employee = UUID.randomUUID();
+        
+        registry.markMarked(employee, today.minusDays(1));
+        
+        assertFalse(registry.isMarked(employee, today.minusDays(1)));
+        assertFalse(registry.isMarked(employee, today));
+    }
+    
+    @Test
+    void growsPastInitialCapacity() {
+        CheckInRegistry registry = new CheckInRegistry();
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID employee = UUID.randomUUID();
+            employees.add(employee);
+            registry.markMarked(employee, today);
+        }
+        
+        for (UUID employee : employees) {
+            assertTrue(registry.isMarked(employee, today), "lost mark for " + employee);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jasiq.coreops.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @Test
+    void loadsOnceThenHits() {
+        BoundedCache<String, Integer> cache = cache(10, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+        
+        assertEquals(1, cache.get("a", key -> loads.incrementAndGet()));
+        assertEquals(1, cache.get("a", key -> loads.incrementAndGet()));
+        
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+    
+    @Test
+    void expiredEntriesAreReloaded() {
+        BoundedCache<String, Integer> cache = cache(10, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        
+        cache.get("a", key -> loads.incrementAndGet());
+        assertEquals(2, cache.get("a", key -> loads.incrementAndGet()));
+        assertNull(cache.getIfPresent("a"));
+    }
+    
+    @Test
+    void sizeStaysWithinBound() {
+        BoundedCache<Integer, Integer> cache = cache(50, Duration.ofMinutes(5));
+        
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        
+        double size = meterRegistry.get("test.cache.size").gauge().value();
+        assertTrue(size <= 50, "size " + size);
+        assertTrue(meterRegistry.get("test.cache.evictions").functionCounter().count() >= 950);
+    }
+    
+    @Test
+    void putIfAbsentKeepsLiveEntry() {
+        BoundedCache<String, String> cache = cache(10, Duration.ofMinutes(5));
+        
+        assertNull(cache.putIfAbsent("key", "first"));
+        assertEquals("first", cache.putIfAbsent("key", "second"));
+        assertEquals("first", cache.getIfPresent("key"));
+    }
+    
+    @Test
+    void putIfAbsentReplacesExpiredEntry() {
+        BoundedCache<String, String> cache = cache(10, Duration.ZERO);
+        
+        assertNull(cache.putIfAbsent("key", "first"));
+        assertNull(cache.putIfAbsent("key", "second"));
+    }
+    
+    @Test
+    void invalidation() {
+        BoundedCache<String, String> cache = cache(10, Duration.ofMinutes(5));
+        cache.put("emp-1:2026-03", "a");
+        cache.put("emp-2:2026-03", "b");
+        cache.put("emp-1:2026-04", "c");
+        
+        cache.invalidate("emp-2:2026-03");
+        assertNull(cache.getIfPresent("emp-2:2026-03"));
+        
+        cache.invalidateIf(key -> key.endsWith(":2026-03"));
+        assertNull(cache.getIfPresent("emp-1:2026-03"));
+        assertEquals("c", cache.getIfPresent("emp-1:2026-04"));
+        
+        cache.invalidateAll();
+        assertNull(cache.getIfPresent("emp-1:2026-04"));
+    }
+    
+    private <K, V> BoundedCache<K, V> cache(int maxEntries, Duration ttl) {
+        return new BoundedCache<>("test.cache", maxEntries, ttl, meterRegistry);
+    }
+}
@@ -0,0 +1,324 @@
+package com.jasiq.coreops.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterJobRunnerTest {
+    
+    private final InMemoryJobLock jobLock = new InMemoryJobLock();
+    private final FakeJobTables jdbcTemplate = new FakeJobTables();
+    private final List<ClusterJobRunner> runners = new ArrayList<>();
+    private ClusterJobRunner runner;
+    
+    @BeforeEach
+    void setUp() {
+        runner = runner("node-a");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        runners.forEach(ClusterJobRunner::shutdown);
+    }
+    
+    @Test
+    void runsJobUnderLockAndReleasesIt() {
+        AtomicInteger runs = new AtomicInteger();
+        
+        assertTrue(runner.runExclusive("nightly", () -> {
+            assertTrue(jobLock.isHeld("nightly"));
+            runs.incrementAndGet();
+        }));
+        
+        assertEquals(1, runs.get());
+        assertFalse(jobLock.isHeld("nightly"));
+        assertEquals("SUCCEEDED", jdbcTemplate.lastStatus.get("nightly"));
+    }
+    
+    @Test
+    void skipsWhileAnotherNodeHoldsTheLock() {
+        AtomicInteger runs = new AtomicInteger();
+        
+        JobLock.Held other = jobLock.tryAcquire("nightly").orElseThrow();
+        try {
+            assertFalse(runner.runExclusive("nightly", runs::incrementAndGet));
+        } finally {
+            other.close();
+        }
+        
+        assertEquals(0, runs.get());
+        assertTrue(runner.runExclusive("nightly", runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+    
+    @Test
+    void releasesLockAndRecordsFailureWhenJobThrows() {
+        assertThrows(IllegalStateException.class, () -> runner.runExclusive("nightly", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        
+        assertFalse(jobLock.isHeld("nightly"));
+        assertEquals("FAILED", jdbcTemplate.lastStatus.get("nightly"));
+    }
+    
+    @Test
+    void skipsWhenAnyNodeSucceededWithinInterval() {
+        AtomicInteger runs = new AtomicInteger();
+        
+        assertTrue(runner.runExclusive("digest", Duration.ofMinutes(10), runs::incrementAndGet));
+        assertFalse(runner.runExclusive("digest", Duration.ofMinutes(10), runs::incrementAndGet));
+        
+        assertEquals(1, runs.get());
+    }
+    
+    @Test
+    void retriesShardThatFailsOnce() {
+        List<Integer> calls = new ArrayList<>();
+        
+        int processed = runner.runSharded("reconcile", "2026-03-01", 4, shard -> {
+            calls.add(shard);
+            if (shard == 2 && calls.stream().filter(s -> s == 2).count() == 1) {
+                throw new IllegalStateException("transient");
+            }
+        });
+        
+        assertEquals(4, processed);
+        assertEquals(List.of(0, 1, 2, 3, 2), calls);
+        assertEquals(2, jdbcTemplate.shards.get(2).attempts);
+        assertEquals("SUCCEEDED", jdbcTemplate.shards.get(2).status);
+        assertEquals("SUCCEEDED", jdbcTemplate.lastStatus.get("reconcile"));
+    }
+    
+    @Test
+    void waitsOutBackoffBeforeRetrying() {
+        ReflectionTestUtils.setField(runner, "shardRetryDelaySeconds", 1L);
+        List<Instant> attempts = new ArrayList<>();
+        
+        runner.runSharded("reconcile", "2026-03-01", 1, shard -> {
+            attempts.add(Instant.now());
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("transient");
+            }
+        });
+        
+        assertEquals(2, attempts.size());
+        assertTrue(Duration.between(attempts.get(0), attempts.get(1)).toMillis() >= 900);
+    }
+    
+    @Test
+    void shardsFinishedEarlierAreNotRepeated() {
+        runner.runSharded("reconcile", "2026-03-01", 3, shard -> { });
+        AtomicInteger runs = new AtomicInteger();
+        
+        assertEquals(0, runner.runSharded("reconcile", "2026-03-01", 3, shard -> runs.incrementAndGet()));
+        assertEquals(0, runs.get());
+    }
+    
+    @Test
+    void giveUpOnShardAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> runner.runSharded("reconcile", "2026-03-01", 2, shard -> {
+                if (shard == 1) {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException("corrupt input");
+                }
+            }));
+        
+        assertEquals(3, attempts.get());
+        assertTrue(error.getMessage().contains("shards [1]"), error.getMessage());
+        assertEquals("FAILED", jdbcTemplate.shards.get(1).status);
+        assertEquals("SUCCEEDED", jdbcTemplate.shards.get(0).status);
+        assertEquals("FAILED", jdbcTemplate.lastStatus.get("reconcile"));
+    }
+    
+    @Test
+    void shardedRunIsRecordedOnceAcrossNodes() {
+        runner.runSharded("reconcile", "2026-03-01", 3, shard -> { });
+        runner("node-b").runSharded("reconcile", "2026-03-01", 3, shard -> { });
+        
+        assertEquals("SUCCEEDED", jdbcTemplate.lastStatus.get("reconcile"));
+        assertEquals(1, jdbcTemplate.runCount.get("reconcile"));
+    }
+    
+    @Test
+    void shardedRunIsNotRecordedWhileAnotherNodeHoldsAShard() {
+        jdbcTemplate.shards.put(1, new Shard());
+        
+        assertEquals(2, runner.runSharded("reconcile", "2026-03-01", 3, shard -> { }));
+        assertNull(jdbcTemplate.lastStatus.get("reconcile"));
+        
+        jdbcTemplate.shards.get(1).status = "FAILED";
+        jdbcTemplate.shards.get(1).attempts = 3;
+        runner("node-b").runSharded("reconcile", "2026-03-01", 3, shard -> { });
+        assertEquals("FAILED", jdbcTemplate.lastStatus.get("reconcile"));
+    }
+    
+    private ClusterJobRunner runner(String nodeId) {
+        ClusterJobRunner created = new ClusterJobRunner();
+        ReflectionTestUtils.setField(created, "jobLock", jobLock);
+        ReflectionTestUtils.setField(created, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(created, "configuredNodeId", nodeId);
+        ReflectionTestUtils.setField(created, "shardLeaseSeconds", 900L);
+        ReflectionTestUtils.setField(created, "shardMaxAttempts", 3);
+        ReflectionTestUtils.setField(created, "shardRetryDelaySeconds", 0L);
+        ReflectionTestUtils.setField(created, "shardRetentionDays", 7L);
+        created.init();
+        runners.add(created);
+        return created;
+    }
+    
+    /**
+     * JobLock stand-in for a single JVM: a name is held until its Held is closed
+     */
+    static final class InMemoryJobLock implements JobLock {
+        
+        private final Set<String> held = ConcurrentHashMap.newKeySet();
+        
+        @Override
+        public Optional<Held> tryAcquire(String jobName) {
+            if (!held.add(jobName)) {
+                return Optional.empty();
+            }
+            Held release = () -> held.remove(jobName);
+            return Optional.of(release);
+        }
+        
+        boolean isHeld(String jobName) {
+            return held.contains(jobName);
+        }
+    }
+    
+    /**
+     * Just enough of scheduled_job_run and scheduled_job_shard for one run key
+     */
+    static final class FakeJobTables extends JdbcTemplate {
+        
+        final Map<String, String> lastStatus = new HashMap<>();
+        final Map<String, Instant> lastSucceeded = new HashMap<>();
+        final Map<String, String> lastRunKey = new HashMap<>();
+        final Map<String, Integer> runCount = new HashMap<>();
+        final Map<Integer, Shard> shards = new HashMap<>();
+        
+        @Override
+        public synchronized int update(String sql, Object... args) {
+            if (sql.startsWith("INSERT INTO scheduled_job_run") && sql.contains("FROM scheduled_job_shard")) {
+                return recordShardedRun((String) args[1], (String) args[2], (Integer) args[3], (Integer) args[4]);
+            }
+            if (sql.startsWith("INSERT INTO scheduled_job_run")) {
+                lastStatus.put((String) args[0], "RUNNING");
+                return 1;
+            }
+            if (sql.startsWith("UPDATE scheduled_job_run")) {
+                String status = (String) args[2];
+                lastStatus.put((String) args[4], status);
+                runCount.merge((String) args[4], 1, Integer::sum);
+                if (status.equals("SUCCEEDED")) {
+                    lastSucceeded.put((String) args[4], ((Timestamp) args[0]).toInstant());
+                }
+                return 1;
+            }
+            if (sql.startsWith("INSERT INTO scheduled_job_shard")) {
+                return claim((Integer) args[2], (Integer) args[5], (Long) args[6], ((Timestamp) args[7]).toInstant());
+            }
+            if (sql.startsWith("UPDATE scheduled_job_shard SET finished_at")) {
+                Shard shard = shards.get((Integer) args[4]);
+                shard.finishedAt = ((Timestamp) args[0]).toInstant();
+                shard.status = (String) args[1];
+                return 1;
+            }
+            if (sql.startsWith("UPDATE scheduled_job_shard SET claimed_at") || sql.startsWith("DELETE")) {
+                return 0;
+            }
+            throw new AssertionError("Unexpected statement: " + sql);
+        }
+        
+        @Override
+        public synchronized <T> T query(String sql, ResultSetExtractor<T> rse, Object... args) {
+            Instant result;
+            if (sql.contains("FROM scheduled_job_run")) {
+                result = lastSucceeded.get((String) args[0]);
+            } else {
+                result = shards.values().stream()
+                    .filter(shard -> shard.status.equals("FAILED") && shard.attempts < (Integer) args[3])
+                    .map(shard -> shard.retryAt((Long) args[0]))
+                    .min(Instant::compareTo)
+                    .orElse(null);
+            }
+            @SuppressWarnings("unchecked")
+            T timestamp = (T) (result == null ? null : Timestamp.from(result));
+            return timestamp;
+        }
+        
+        @Override
+        public synchronized <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            List<T> failed = new ArrayList<>();
+            shards.forEach((shard, state) -> {
+                if (state.status.equals("FAILED")) {
+                    failed.add(elementType.cast(shard));
+                }
+            });
+            return failed;
+        }
+        
+        private int claim(int shard, int maxAttempts, long retryDelaySeconds, Instant now) {
+            Shard existing = shards.get(shard);
+            if (existing == null) {
+                shards.put(shard, new Shard());
+                return 1;
+            }
+            if (existing.status.equals("FAILED") && existing.attempts < maxAttempts
+                    && !existing.retryAt(retryDelaySeconds).isAfter(now)) {
+                existing.status = "RUNNING";
+                existing.attempts++;
+                return 1;
+            }
+            return 0;
+        }
+        
+        private int recordShardedRun(String jobName, String runKey, int shardCount, int maxAttempts) {
+            boolean settled = shards.size() == shardCount && shards.values().stream().allMatch(shard ->
+                shard.status.equals("SUCCEEDED") || (shard.status.equals("FAILED") && shard.attempts >= maxAttempts));
+            if (!settled || runKey.equals(lastRunKey.get(jobName))) {
+                return 0;
+            }
+            boolean succeeded = shards.values().stream().allMatch(shard -> shard.status.equals("SUCCEEDED"));
+            lastStatus.put(jobName, succeeded ? "SUCCEEDED" : "FAILED");
+            lastRunKey.put(jobName, runKey);
+            runCount.merge(jobName, 1, Integer::sum);
+            return 1;
+        }
+    }
+    
+    static final class Shard {
+        String status = "RUNNING";
+        int attempts = 1;
+        Instant finishedAt;
+        
+        Instant retryAt(long retryDelaySeconds) {
+            return finishedAt.plusMillis(retryDelaySeconds * 1000 << (attempts - 1));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.jasiq.coreops.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPagerCursorTest {
+    
+    @Test
+    void roundTripsSortValueAndId() {
+        UUID id = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2026-03-02T10:15:30.123456Z");
+        
+        String cursor = KeysetPager.encode(createdAt, id);
+        
+        assertArrayEquals(new String[] { createdAt.toString(), id.toString() }, KeysetPager.decode(cursor));
+    }
+    
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = KeysetPager.encode("a/b+c?d", UUID.randomUUID());
+        
+        assertFalse(cursor.contains("/") || cursor.contains("+") || cursor.contains("=") || cursor.contains("?"));
+    }
+    
+    @Test
+    void sortValueMayContainTheSeparator() {
+        UUID id = UUID.randomUUID();
+        
+        String[] position = KeysetPager.decode(KeysetPager.encode("2026-W10|draft", id));
+        
+        assertEquals("2026-W10|draft", position[0]);
+        assertEquals(id.toString(), position[1]);
+    }
+    
+    @Test
+    void rejectsMalformedCursors() {
+        assertInvalid("not base64 !");
+        assertInvalid(encodeRaw("no-separator"));
+        assertInvalid(encodeRaw("|" + UUID.randomUUID()));
+        assertInvalid(encodeRaw("2026-03-02|not-a-uuid"));
+    }
+    
+    private static void assertInvalid(String cursor) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> KeysetPager.decode(cursor));
+        assertEquals("Invalid cursor", error.getMessage());
+    }
+    
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package com.jasiq.coreops.employee;
+
+import com.jasiq.coreops.employee.EmployeeControllerExtension.CreateEmployeeRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeCsvParserTest {
+    
+    @Test
+    void emptyUploadGivesNoRows() {
+        assertTrue(EmployeeCsvParser.parse("").isEmpty());
+        assertTrue(EmployeeCsvParser.parse("firstName,lastName,email\n").isEmpty());
+    }
+    
+    @Test
+    void mapsCamelAndSnakeCaseHeadersInAnyOrder() {
+        UUID division = UUID.randomUUID();
+        List<CreateEmployeeRequest> rows = EmployeeCsvParser.parse(
+            "email,FIRST_NAME,last_name,primary_division_id,scope\n" +
+            "ada@example.com,Ada,Lovelace," + division + ",DIVISION\n");
+        
+        assertEquals(1, rows.size());
+        CreateEmployeeRequest row = rows.get(0);
+        assertEquals("Ada", row.getFirstName());
+        assertEquals("Lovelace", row.getLastName());
+        assertEquals("ada@example.com", row.getEmail());
+        assertEquals(division, row.getPrimaryDivisionId());
+        assertEquals("DIVISION", row.getScope());
+        assertNull(row.getPhone());
+    }
+    
+    @Test
+    void quotedFieldsKeepCommasNewlinesAndQuotes() {
+        List<CreateEmployeeRequest> rows = EmployeeCsvParser.parse(
+            "firstName,lastName,designation\r\n" +
+            "\"Grace\",\"Hopper, PhD\",\"Rear \"\"Amazing\"\" Admiral\nUS Navy\"\r\n");
+        
+        assertEquals(1, rows.size());
+        assertEquals("Hopper, PhD", rows.get(0).getLastName());
+        assertEquals("Rear \"Amazing\" Admiral\nUS Navy", rows.get(0).getDesignation());
+    }
+    
+    @Test
+    void blankLinesAndMissingTrailingColumnsAreTolerated() {
+        List<CreateEmployeeRequest> rows = EmployeeCsvParser.parse(
+            "firstName,lastName,phone\n\nAlan,Turing\n ,  \nEdsger,Dijkstra,  \n");
+        
+        assertEquals(2, rows.size());
+        assertEquals("Turing", rows.get(0).getLastName());
+        assertNull(rows.get(0).getPhone());
+        assertNull(rows.get(1).getPhone());
+    }
+    
+    @Test
+    void invalidDivisionIdNamesTheLine() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> EmployeeCsvParser.parse("firstName,primaryDivisionId\nA," + UUID.randomUUID() + "\nB,not-a-uuid\n"));
+        
+        assertEquals("Invalid primaryDivisionId on line 3", error.getMessage());
+    }
+}
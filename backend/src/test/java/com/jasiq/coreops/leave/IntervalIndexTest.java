@@ -0,0 +1,96 @@
+package com.jasiq.coreops.leave;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalIndexTest {
+    
+    private static final UUID EMPLOYEE = UUID.randomUUID();
+    private static final LocalDate BASE = LocalDate.of(2026, 3, 1);
+    
+    @Test
+    void emptyIndexOverlapsNothing() {
+        assertFalse(IntervalIndex.EMPTY.overlaps(BASE, BASE.plusDays(30)));
+        assertTrue(IntervalIndex.EMPTY.overlapping(BASE, BASE.plusDays(30)).isEmpty());
+    }
+    
+    @Test
+    void boundsAreInclusive() {
+        IntervalIndex index = IntervalIndex.of(List.of(leave(day(10), day(12))));
+        
+        assertTrue(index.overlaps(day(12), day(15)));
+        assertTrue(index.overlaps(day(5), day(10)));
+        assertTrue(index.overlaps(day(11), day(11)));
+        assertFalse(index.overlaps(day(13), day(15)));
+        assertFalse(index.overlaps(day(5), day(9)));
+    }
+    
+    @Test
+    void longEarlyIntervalIsFoundBehindShortLaterOnes() {
+        LeaveInterval longLeave = leave(day(1), day(30));
+        IntervalIndex index = IntervalIndex.of(List.of(leave(day(5), day(5)), longLeave, leave(day(8), day(8))));
+        
+        List<LeaveInterval> found = index.overlapping(day(20), day(21));
+        assertEquals(1, found.size());
+        assertSame(longLeave, found.get(0));
+    }
+    
+    @Test
+    void withAndWithoutAreCopyOnWrite() {
+        IntervalIndex original = IntervalIndex.of(List.of(leave(day(1), day(2))));
+        LeaveInterval added = leave(day(10), day(11));
+        
+        IntervalIndex grown = original.with(added);
+        assertEquals(1, original.size());
+        assertEquals(2, grown.size());
+        assertFalse(original.overlaps(day(10), day(10)));
+        assertTrue(grown.overlaps(day(10), day(10)));
+        
+        IntervalIndex shrunk = grown.without(added.getId());
+        assertEquals(1, shrunk.size());
+        assertFalse(shrunk.overlaps(day(10), day(10)));
+        assertSame(shrunk, shrunk.without(UUID.randomUUID()));
+    }
+    
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(42);
+        List<LeaveInterval> intervals = new ArrayList<>();
+        IntervalIndex index = IntervalIndex.EMPTY;
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = day(random.nextInt(365));
+            LeaveInterval interval = leave(start, start.plusDays(random.nextInt(10)));
+            intervals.add(interval);
+            index = index.with(interval);
+        }
+        
+        for (int i = 0; i < 500; i++) {
+            LocalDate from = day(random.nextInt(380));
+            LocalDate to = from.plusDays(random.nextInt(15));
+            long expected = intervals.stream()
+                .filter(interval -> !interval.getStart().isAfter(to) && !interval.getEnd().isBefore(from))
+                .count();
+            
+            assertEquals(expected > 0, index.overlaps(from, to));
+            assertEquals(expected, index.overlapping(from, to).size());
+        }
+    }
+    
+    private static LocalDate day(int offset) {
+        return BASE.plusDays(offset);
+    }
+    
+    private static LeaveInterval leave(LocalDate start, LocalDate end) {
+        return new LeaveInterval(UUID.randomUUID(), EMPLOYEE, start, end, LeaveInterval.LEAVE);
+    }
+}
@@ -0,0 +1,86 @@
+package com.jasiq.coreops.timesheet;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimesheetTotalsTest {
+    
+    private static final LocalDate WEEK_START = LocalDate.of(2026, 3, 2);
+    
+    @Test
+    void nullEntriesGiveZeroTotals() {
+        TimesheetTotals totals = TimesheetTotals.of(WEEK_START, null);
+        
+        assertEquals(0.0, totals.getTotalHours());
+        assertArrayEquals(new double[7], totals.getDailyHours());
+        assertEquals(Map.of(), totals.getProjectHours());
+    }
+    
+    @Test
+    void totalsPerDayAndProject() {
+        UUID project = UUID.randomUUID();
+        TimesheetTotals totals = TimesheetTotals.of(WEEK_START, List.of(
+            entry(WEEK_START, project, 4),
+            entry(WEEK_START, null, 2.5),
+            entry(WEEK_START.plusDays(6), project, 3)));
+        
+        assertEquals(9.5, totals.getTotalHours());
+        assertArrayEquals(new double[] { 6.5, 0, 0, 0, 0, 0, 3 }, totals.getDailyHours());
+        assertEquals(7.0, totals.getProjectHours().get(project.toString()));
+        assertEquals(2.5, totals.getProjectHours().get("unassigned"));
+    }
+    
+    @Test
+    void repeatedFractionsAddUpExactly() {
+        TimesheetEntry[] entries = new TimesheetEntry[10];
+        Arrays.fill(entries, entry(WEEK_START, null, 0.1));
+        
+        assertEquals(1.0, TimesheetTotals.of(WEEK_START, List.of(entries)).getTotalHours());
+    }
+    
+    @Test
+    void projectsBeyondInitialCapacity() {
+        List<TimesheetEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            entries.add(entry(WEEK_START, UUID.randomUUID(), 1));
+        }
+        
+        TimesheetTotals totals = TimesheetTotals.of(WEEK_START, entries);
+        assertEquals(9, totals.getProjectHours().size());
+        assertEquals(9.0, totals.getTotalHours());
+    }
+    
+    @Test
+    void rejectsInvalidEntries() {
+        assertThrows(IllegalArgumentException.class,
+            () -> TimesheetTotals.of(WEEK_START, List.of(entry(WEEK_START.plusDays(7), null, 1))));
+        assertThrows(IllegalArgumentException.class,
+            () -> TimesheetTotals.of(WEEK_START, List.of(entry(WEEK_START.minusDays(1), null, 1))));
+        assertThrows(IllegalArgumentException.class,
+            () -> TimesheetTotals.of(WEEK_START, List.of(entry(WEEK_START, null, -1))));
+        assertThrows(IllegalArgumentException.class,
+            () -> TimesheetTotals.of(WEEK_START, List.of(entry(null, null, 1))));
+        assertThrows(IllegalArgumentException.class,
+            () -> TimesheetTotals.of(WEEK_START, Arrays.asList((TimesheetEntry) null)));
+        assertThrows(IllegalArgumentException.class,
+            () -> TimesheetTotals.of(WEEK_START, List.of(entry(WEEK_START, null, 20), entry(WEEK_START, null, 4.5))));
+    }
+    
+    private static TimesheetEntry entry(LocalDate day, UUID projectId, double hours) {
+        TimesheetEntry entry = new TimesheetEntry();
+        entry.setDay(day);
+        entry.setProjectId(projectId);
+        entry.setHours(hours);
+        return entry;
+    }
+}